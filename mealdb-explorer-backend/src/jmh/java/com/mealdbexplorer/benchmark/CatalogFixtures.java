@@ -0,0 +1,128 @@
+package com.mealdbexplorer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.service.catalog.CatalogService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic catalogs shaped like TheMealDB: a few hundred base ingredients with
+ * qualified variants ("red onion", "chopped onion"), 3-20 ingredients per meal and long instructions.
+ */
+final class CatalogFixtures {
+
+    private static final String[] BASE_INGREDIENTS = {
+            "chicken", "beef", "pork", "lamb", "salmon", "prawns", "egg", "milk", "butter", "cream",
+            "cheese", "flour", "sugar", "salt", "pepper", "garlic", "onion", "tomato", "potato", "carrot",
+            "rice", "pasta", "oil", "vinegar", "lemon", "lime", "ginger", "chilli", "cumin", "paprika",
+            "thyme", "basil", "parsley", "coriander", "mint", "honey", "soy sauce", "stock", "wine", "beans"
+    };
+    private static final String[] QUALIFIERS = {
+            "", "red ", "green ", "chopped ", "fresh ", "dried ", "ground ", "smoked ", "plain ", "free-range "
+    };
+
+    private CatalogFixtures() {
+    }
+
+    static String ingredientName(Random random) {
+        return QUALIFIERS[random.nextInt(QUALIFIERS.length)] + BASE_INGREDIENTS[random.nextInt(BASE_INGREDIENTS.length)];
+    }
+
+    static List<Meal> meals(int count) {
+        Random random = new Random(42);
+        List<Meal> meals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int ingredientCount = 3 + random.nextInt(18);
+            List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+            for (int j = 0; j < ingredientCount; j++) {
+                ingredients.add(Ingredient.builder()
+                        .name(ingredientName(random))
+                        .measure((1 + random.nextInt(500)) + "g")
+                        .build());
+            }
+
+            meals.add(Meal.builder()
+                    .id(String.valueOf(50000 + i))
+                    .name("Meal " + i)
+                    .category("Category " + (i % 14))
+                    .area("Area " + (i % 27))
+                    .instructions("Step. ".repeat(200))
+                    .thumbnailUrl("https://www.themealdb.com/images/media/meals/" + i + ".jpg")
+                    .youtubeUrl("https://www.youtube.com/watch?v=" + i)
+                    .ingredients(ingredients)
+                    .tags(List.of("Tag" + (i % 5)))
+                    .build());
+        }
+        return meals;
+    }
+
+    static Catalog catalog(int count, IngredientDictionary dictionary) {
+        return new Catalog(1, Instant.now(), meals(count), List.<Category>of(), dictionary);
+    }
+
+    static List<String> pantry(int size, long seed) {
+        Random random = new Random(seed);
+        List<String> pantry = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pantry.add(BASE_INGREDIENTS[random.nextInt(BASE_INGREDIENTS.length)]);
+        }
+        return pantry;
+    }
+
+    /**
+     * Serves a fixed catalog without crawling, so service benchmarks measure matching only.
+     */
+    static CatalogService fixedCatalogService(Catalog catalog, IngredientDictionary dictionary) {
+        return new CatalogService(null, dictionary, null, false, 0) {
+            @Override
+            public Catalog getCatalog() {
+                return catalog;
+            }
+        };
+    }
+
+    /**
+     * Serializes {@link #meals(int)} in TheMealDB's wire format: {@code {"meals": [...]}} with
+     * numbered {@code strIngredientN}/{@code strMeasureN} fields, padded with nulls up to 20.
+     */
+    static byte[] payload(int count) {
+        List<Map<String, String>> rows = new ArrayList<>(count);
+        for (Meal meal : meals(count)) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("idMeal", meal.getId());
+            row.put("strMeal", meal.getName());
+            row.put("strCategory", meal.getCategory());
+            row.put("strArea", meal.getArea());
+            row.put("strInstructions", meal.getInstructions());
+            row.put("strMealThumb", meal.getThumbnailUrl());
+            row.put("strTags", String.join(",", meal.getTags()));
+            row.put("strYoutube", meal.getYoutubeUrl());
+
+            List<Ingredient> ingredients = meal.getIngredients();
+            for (int i = 0; i < 20; i++) {
+                row.put("strIngredient" + (i + 1), i < ingredients.size() ? ingredients.get(i).getName() : null);
+            }
+            for (int i = 0; i < 20; i++) {
+                row.put("strMeasure" + (i + 1), i < ingredients.size() ? ingredients.get(i).getMeasure() : null);
+            }
+            rows.add(row);
+        }
+
+        try {
+            return new ObjectMapper().writeValueAsBytes(Map.of("meals", rows));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
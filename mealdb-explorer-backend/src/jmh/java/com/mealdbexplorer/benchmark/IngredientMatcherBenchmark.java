@@ -0,0 +1,65 @@
+package com.mealdbexplorer.benchmark;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.domain.model.logic.IngredientMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a pantry against every meal of the catalog, once with the string-based
+ * {@code calculateMatch} and once with the pre-encoded pantry bitset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IngredientMatcherBenchmark {
+
+    @Param({"300", "10000", "100000"})
+    private int mealCount;
+
+    private final IngredientMatcher matcher = new IngredientMatcher();
+    private List<Meal> meals;
+    private List<String> pantry;
+    private long[] pantryBits;
+
+    @Setup
+    public void setUp() {
+        IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+        Catalog catalog = CatalogFixtures.catalog(mealCount, dictionary);
+        meals = catalog.getMeals();
+        pantry = CatalogFixtures.pantry(6, 7);
+        pantryBits = dictionary.resolve(IngredientMatcher.normalizePantry(pantry));
+    }
+
+    @Benchmark
+    public void calculateMatch(Blackhole blackhole) {
+        for (Meal meal : meals) {
+            blackhole.consume(matcher.calculateMatch(meal, pantry));
+        }
+    }
+
+    @Benchmark
+    public void calculateMatchEncoded(Blackhole blackhole) {
+        for (Meal meal : meals) {
+            blackhole.consume(matcher.calculateMatch(meal, pantryBits));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mealdbexplorer.benchmark;
+
+import com.mealdbexplorer.controller.dto.MatchResponse;
+import com.mealdbexplorer.domain.model.MatchResult;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientMatcher;
+import com.mealdbexplorer.mapper.ResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain match results to API responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    @Param({"300", "10000", "100000"})
+    private int mealCount;
+
+    private final ResponseMapper responseMapper = new ResponseMapper();
+    private List<MatchResult> matchResults;
+
+    @Setup
+    public void setUp() {
+        IngredientMatcher matcher = new IngredientMatcher();
+        List<String> pantry = CatalogFixtures.pantry(6, 7);
+        List<Meal> meals = CatalogFixtures.meals(mealCount);
+        matchResults = meals.stream()
+                .map(meal -> matcher.calculateMatch(meal, pantry))
+                .toList();
+    }
+
+    @Benchmark
+    public List<MatchResponse> toMatchResponseList() {
+        return responseMapper.toMatchResponseList(matchResults);
+    }
+}
@@ -0,0 +1,65 @@
+package com.mealdbexplorer.benchmark;
+
+import com.mealdbexplorer.domain.model.MatchResult;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.domain.model.logic.IngredientMatcher;
+import com.mealdbexplorer.service.matcher.MatcherService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end what-can-i-cook matching against a fixed catalog: the default threshold and page,
+ * and the 0% threshold outlier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MatcherServiceBenchmark {
+
+    @Param({"300", "10000", "100000"})
+    private int mealCount;
+
+    private MatcherService matcherService;
+    private List<String> pantry;
+
+    @Setup
+    public void setUp() {
+        IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+        matcherService = new MatcherService(
+                CatalogFixtures.fixedCatalogService(CatalogFixtures.catalog(mealCount, dictionary), dictionary),
+                new IngredientMatcher(),
+                dictionary,
+                100,
+                500,
+                10000,
+                5000,
+                new SimpleMeterRegistry());
+        pantry = CatalogFixtures.pantry(6, 7);
+    }
+
+    @Benchmark
+    public List<MatchResult> findMatchingMeals() {
+        return matcherService.findMatchingMeals(pantry);
+    }
+
+    @Benchmark
+    public List<MatchResult> findMatchingMealsZeroThreshold() {
+        return matcherService.findMatchingMeals(pantry, 0.0, 0, 500);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mealdbexplorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mealdbexplorer.adapter.themealdb.MealStreamReader;
+import com.mealdbexplorer.domain.model.Meal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming ingest of a search.php-shaped payload straight into {@link Meal}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MealIngestBenchmark {
+
+    @Param({"300", "10000", "100000"})
+    private int mealCount;
+
+    private final MealStreamReader reader = new MealStreamReader(new ObjectMapper());
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        payload = CatalogFixtures.payload(mealCount);
+    }
+
+    @Benchmark
+    public List<Meal> read() throws IOException {
+        return reader.read(new ByteArrayInputStream(payload));
+    }
+}
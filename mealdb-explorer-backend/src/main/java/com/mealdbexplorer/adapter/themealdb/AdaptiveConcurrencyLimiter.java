@@ -0,0 +1,197 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on concurrent TheMealDB calls, shared by all endpoints. Every call that completes
+ * quickly and successfully while at least half the limit is in use raises it by {@code 1/limit}, about one per
+ * round of calls; a throttled, failed or slow call multiplies it by {@code backoffRatio}. The limit
+ * so settles near the in-flight count the upstream sustains without throttling us.
+ * <p>
+ * Calls over the limit wait in one of two queues, interactive first, each with its own bounded wait.
+ * Background calls only ever use {@code backgroundShare} of the limit. Permits are futures, so
+ * blocking and non-blocking callers queue the same way.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * How a call that held a permit ended. {@code IGNORED} is for calls that never reached the
+     * upstream, which say nothing about its capacity.
+     */
+    public enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double backgroundShare;
+    private final Duration interactiveWait;
+    private final Duration backgroundWait;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Permit>> interactiveQueue = new ArrayDeque<>();
+    private final ArrayDeque<CompletableFuture<Permit>> backgroundQueue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio, double backgroundShare, Duration interactiveWait,
+                                      Duration backgroundWait, int maxQueued) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.backgroundShare = backgroundShare;
+        this.interactiveWait = interactiveWait;
+        this.backgroundWait = backgroundWait;
+        this.maxQueued = maxQueued;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * A permit, granted now if the limit allows and otherwise once a running call finishes. Fails with
+     * {@link RejectedExecutionException} when the queue is full, or with a
+     * {@link java.util.concurrent.TimeoutException} after the priority's wait.
+     */
+    public CompletableFuture<Permit> acquire(UpstreamPriority priority) {
+        boolean interactive = priority == UpstreamPriority.INTERACTIVE;
+        ArrayDeque<CompletableFuture<Permit>> queue = interactive ? interactiveQueue : backgroundQueue;
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+
+        lock.lock();
+        try {
+            // Background calls do not overtake interactive ones already waiting
+            if (interactive ? inFlight < (int) limit : inFlight < backgroundLimit() && interactiveQueue.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (queue.size() >= maxQueued) {
+                return CompletableFuture.failedFuture(
+                        new RejectedExecutionException("Too many calls waiting for TheMealDB"));
+            }
+            queue.add(waiter);
+        } finally {
+            lock.unlock();
+        }
+
+        Duration wait = interactive ? interactiveWait : backgroundWait;
+        return waiter.orTimeout(wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return interactiveQueue.size() + backgroundQueue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        List<CompletableFuture<Permit>> granted;
+        lock.lock();
+        try {
+            boolean inUse = inFlight * 2 >= (int) limit;
+            inFlight--;
+            if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && latencyNanos > latencyThresholdNanos)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (outcome == Outcome.SUCCESS && inUse) {
+                // Only grow a limit that is at least half used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            granted = grant();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    // Called under the lock; permits are counted here and handed out after unlocking
+    private List<CompletableFuture<Permit>> grant() {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        while (inFlight < (int) limit) {
+            CompletableFuture<Permit> next = pollLive(interactiveQueue);
+            if (next == null && inFlight < backgroundLimit()) {
+                next = pollLive(backgroundQueue);
+            }
+            if (next == null) {
+                break;
+            }
+            inFlight++;
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    // Background calls only get part of the limit, leaving room for interactive ones to start at once
+    private int backgroundLimit() {
+        return Math.max(1, (int) (limit * backgroundShare));
+    }
+
+    // Skips waiters that timed out or were cancelled while queued
+    private static CompletableFuture<Permit> pollLive(ArrayDeque<CompletableFuture<Permit>> queue) {
+        CompletableFuture<Permit> next;
+        while ((next = queue.poll()) != null) {
+            if (!next.isDone()) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private void complete(List<CompletableFuture<Permit>> granted) {
+        for (CompletableFuture<Permit> waiter : granted) {
+            Permit permit = new Permit();
+            if (!waiter.complete(permit)) {
+                // The wait ran out between polling and completing
+                permit.release(Outcome.IGNORED);
+            }
+        }
+    }
+
+    /**
+     * One admitted call. Release it exactly once, when the call ends.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startNanos, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads {@code {"meals": [...]}} payloads token by token into {@link Meal}s, without binding the
+ * 48-field upstream DTO first. Only the meal being parsed is buffered, so memory stays proportional
+ * to the meals kept by the caller rather than to the payload.
+ */
+@Component
+public class MealStreamReader {
+
+    private static final int MAX_INGREDIENTS = 20;
+    private static final String INGREDIENT_PREFIX = "strIngredient";
+    private static final String MEASURE_PREFIX = "strMeasure";
+
+    private final JsonFactory jsonFactory;
+
+    public MealStreamReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public List<Meal> read(InputStream body) throws IOException {
+        List<Meal> meals = new ArrayList<>();
+        read(body, meals::add);
+        return meals;
+    }
+
+    /**
+     * Hands each meal to {@code sink} as soon as its object closes. A missing or non-array
+     * {@code meals} field (TheMealDB sends {@code null} for no results) yields nothing.
+     */
+    public void read(InputStream body, Consumer<Meal> sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            readMeals(parser, sink);
+        }
+    }
+
+    private void readMeals(JsonParser parser, Consumer<Meal> sink) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return;
+        }
+
+        MealState state = new MealState();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"meals".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+
+            JsonToken element;
+            while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                if (element == JsonToken.START_OBJECT) {
+                    sink.accept(readMeal(parser, state));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private Meal readMeal(JsonParser parser, MealState state) throws IOException {
+        state.reset();
+        Meal.MealBuilder meal = Meal.builder();
+        String tags = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            String text = token == JsonToken.VALUE_NULL ? null : parser.getText();
+
+            switch (field) {
+                case "idMeal" -> meal.id(text);
+                case "strMeal" -> meal.name(text);
+                case "strCategory" -> meal.category(text);
+                case "strArea" -> meal.area(text);
+                case "strInstructions" -> meal.instructions(text);
+                case "strMealThumb" -> meal.thumbnailUrl(text);
+                case "strYoutube" -> meal.youtubeUrl(text);
+                case "strTags" -> tags = text;
+                default -> {
+                    if (field.startsWith(INGREDIENT_PREFIX)) {
+                        state.set(state.names, slot(field, INGREDIENT_PREFIX), text);
+                    } else if (field.startsWith(MEASURE_PREFIX)) {
+                        state.set(state.measures, slot(field, MEASURE_PREFIX), text);
+                    }
+                }
+            }
+        }
+
+        return meal.ingredients(state.ingredients())
+                .tags(tags(tags))
+                .build();
+    }
+
+    // strIngredient7 -> 6; anything outside 1..20 maps to -1 and is ignored
+    private static int slot(String field, String prefix) {
+        int number = 0;
+        for (int i = prefix.length(); i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c < '0' || c > '9' || number > MAX_INGREDIENTS) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number >= 1 && number <= MAX_INGREDIENTS ? number - 1 : -1;
+    }
+
+    private static List<String> tags(String tags) {
+        if (tags == null || tags.trim().isEmpty()) {
+            return List.of();
+        }
+
+        List<String> result = new ArrayList<>();
+        for (String tag : tags.split(",")) {
+            String trimmed = tag.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    // Per-meal scratch space, reused across the meals of one payload
+    private static final class MealState {
+        private final String[] names = new String[MAX_INGREDIENTS];
+        private final String[] measures = new String[MAX_INGREDIENTS];
+
+        void reset() {
+            Arrays.fill(names, null);
+            Arrays.fill(measures, null);
+        }
+
+        void set(String[] slots, int slot, String value) {
+            if (slot >= 0) {
+                slots[slot] = value;
+            }
+        }
+
+        // Upstream numbering, not field order, decides ingredient order; blank names are empty slots
+        List<Ingredient> ingredients() {
+            List<Ingredient> ingredients = new ArrayList<>();
+            for (int i = 0; i < MAX_INGREDIENTS; i++) {
+                String name = names[i];
+                if (name != null && !name.trim().isEmpty()) {
+                    ingredients.add(Ingredient.builder()
+                            .name(name.trim())
+                            .measure(measures[i] != null ? measures[i].trim() : "")
+                            .build());
+                }
+            }
+            return ingredients;
+        }
+    }
+}
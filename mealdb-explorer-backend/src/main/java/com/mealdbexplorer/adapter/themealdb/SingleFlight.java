@@ -0,0 +1,167 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call,
+ * everyone arriving while it is in flight waits for and shares its outcome.
+ * <p>
+ * Calls are coalesced per {@link UpstreamPriority}: the leader's priority decides where its call
+ * queues at the limiter, so an interactive caller never waits behind a background leader. A background
+ * caller may share an interactive call already in flight. Joiners wait at most their priority's
+ * join timeout, after which they fail with {@link UpstreamUnavailableException}.
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executedCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final Duration interactiveJoinTimeout;
+    private final Duration backgroundJoinTimeout;
+
+    public SingleFlight(Duration interactiveJoinTimeout, Duration backgroundJoinTimeout) {
+        this.interactiveJoinTimeout = interactiveJoinTimeout;
+        this.backgroundJoinTimeout = backgroundJoinTimeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        UpstreamPriority priority = UpstreamPriority.current();
+        String flightKey = flightKey(key, priority);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = join(key, priority, created);
+
+        if (existing != null) {
+            coalescedCalls.increment();
+            return (T) await(existing, joinTimeout(priority));
+        }
+
+        executedCalls.increment();
+        try {
+            T result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Errors too, or later joiners of this key would wait on a future nobody completes
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, created);
+        }
+    }
+
+    /**
+     * Non-blocking variant: callers arriving while the call is in flight get its future instead
+     * of waiting for it. Shares in-flight calls with {@link #execute} for the same key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> call) {
+        UpstreamPriority priority = UpstreamPriority.current();
+        String flightKey = flightKey(key, priority);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = join(key, priority, created);
+
+        if (existing != null) {
+            coalescedCalls.increment();
+            return existing.thenApply(result -> (T) result)
+                    .orTimeout(joinTimeout(priority).toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(error -> {
+                        if (unwrap(error) instanceof TimeoutException timeout) {
+                            throw joinTimedOut(timeout);
+                        }
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    });
+        }
+
+        executedCalls.increment();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        } catch (Error e) {
+            inFlight.remove(flightKey, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+        result.whenComplete((value, error) -> {
+            inFlight.remove(flightKey, created);
+            if (error != null) {
+                created.completeExceptionally(unwrap(error));
+            } else {
+                created.complete(value);
+            }
+        });
+        return result;
+    }
+
+    public long getExecutedCalls() {
+        return executedCalls.sum();
+    }
+
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    // The in-flight call to share, or null after registering created as the leader
+    private CompletableFuture<Object> join(String key, UpstreamPriority priority, CompletableFuture<Object> created) {
+        if (priority == UpstreamPriority.BACKGROUND) {
+            CompletableFuture<Object> interactive = inFlight.get(flightKey(key, UpstreamPriority.INTERACTIVE));
+            if (interactive != null) {
+                return interactive;
+            }
+        }
+        return inFlight.putIfAbsent(flightKey(key, priority), created);
+    }
+
+    private static String flightKey(String key, UpstreamPriority priority) {
+        return priority.name() + ' ' + key;
+    }
+
+    private Duration joinTimeout(UpstreamPriority priority) {
+        return priority == UpstreamPriority.INTERACTIVE ? interactiveJoinTimeout : backgroundJoinTimeout;
+    }
+
+    private static Object await(CompletableFuture<Object> future, Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception as-is so waiters see the same error type
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw joinTimedOut(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for TheMealDB", e);
+        }
+    }
+
+    private static UpstreamUnavailableException joinTimedOut(TimeoutException e) {
+        return new UpstreamUnavailableException("Timed out waiting for an identical TheMealDB call", e);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,179 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.exception.ExternalApiException;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking counterpart of {@link TheMealDbClient} for the per-request lookups, enabled with
+ * {@code themealdb.client.mode=async}. Calls return as soon as the request is sent; no thread is
+ * held while TheMealDB responds. Shares the blocking client's single-flight, adaptive limiter,
+ * bulkheads and circuit breakers, so both see the same in-flight calls and the same upstream health.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "themealdb.client.mode", havingValue = "async")
+public class TheMealDbAsyncClient {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final MealStreamReader mealStreamReader;
+    private final SingleFlight singleFlight;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public TheMealDbAsyncClient(@Value("${themealdb.api.base-url}") String baseUrl,
+                                @Value("${themealdb.api.timeout:5000}") long timeoutMs,
+                                HttpClient theMealDbAsyncHttpClient,
+                                MealStreamReader mealStreamReader,
+                                TheMealDbClient theMealDbClient,
+                                MeterRegistry meterRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                AdaptiveConcurrencyLimiter theMealDbLimiter) {
+        this.httpClient = theMealDbAsyncHttpClient;
+        this.baseUrl = baseUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.mealStreamReader = mealStreamReader;
+        this.singleFlight = theMealDbClient.getSingleFlight();
+        this.meterRegistry = meterRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.limiter = theMealDbLimiter;
+    }
+
+    public CompletableFuture<List<Meal>> searchMealsByName(String name) {
+        String path = "/search.php?s=" + name;
+        return singleFlight.executeAsync(path, () ->
+                call("search", "/search.php?s=" + encode(name), "Failed to search meals"));
+    }
+
+    public CompletableFuture<List<Meal>> getMealById(String id) {
+        String path = "/lookup.php?i=" + id;
+        return singleFlight.executeAsync(path, () ->
+                call("lookup", "/lookup.php?i=" + encode(id), "Failed to fetch meal details"));
+    }
+
+    // Not coalesced: concurrent callers each expect their own random meal
+    public CompletableFuture<List<Meal>> getRandomMeal() {
+        return call("random", "/random.php", "Failed to fetch random meal");
+    }
+
+    /**
+     * Sends one request once the adaptive limiter admits it, then behind the endpoint's bulkhead and
+     * circuit breaker. Calls not admitted or rejected complete with {@link UpstreamUnavailableException},
+     * every other failure with {@link ExternalApiException}, as the blocking client throws them.
+     */
+    private CompletableFuture<List<Meal>> call(String endpoint, String path, String failure) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        return limiter.acquire(UpstreamPriority.current())
+                .thenCompose(permit -> sendWith(permit, endpoint, request))
+                .handle((meals, error) -> {
+                    Throwable cause = unwrap(error);
+                    if (cause == null) {
+                        return meals;
+                    }
+                    if (cause instanceof BulkheadFullException || cause instanceof CallNotPermittedException
+                            || cause instanceof RejectedExecutionException || cause instanceof TimeoutException) {
+                        log.warn("TheMealDB {} call rejected: {}", endpoint, cause.toString());
+                        throw new UpstreamUnavailableException("TheMealDB is temporarily unavailable", cause);
+                    }
+                    log.error("Error calling TheMealDB {}", path, cause);
+                    throw new ExternalApiException(failure, cause);
+                });
+    }
+
+    // The permit goes back however the send ends, including a synchronous throw before any request is made
+    private CompletableFuture<List<Meal>> sendWith(AdaptiveConcurrencyLimiter.Permit permit, String endpoint,
+                                                   HttpRequest request) {
+        CompletableFuture<List<Meal>> response;
+        try {
+            response = send(endpoint, request);
+        } catch (RuntimeException | Error e) {
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+            throw e;
+        }
+        return response.whenComplete((meals, error) -> permit.release(TheMealDbClient.outcomeOf(unwrap(error))));
+    }
+
+    private CompletableFuture<List<Meal>> send(String endpoint, HttpRequest request) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpoint);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint);
+        return Bulkhead.decorateCompletionStage(bulkhead, CircuitBreaker.decorateCompletionStage(circuitBreaker, () -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                            .thenApply(this::readMeals)
+                            .whenComplete((meals, error) -> sample.stop(Timer.builder("themealdb.client.requests")
+                                    .description("Round trips to TheMealDB")
+                                    .tag("endpoint", endpoint)
+                                    .tag("outcome", error == null ? "success" : "error")
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry)));
+                }))
+                .get()
+                .toCompletableFuture();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Error statuses raise the same exceptions as the blocking client, so 4xx stay out of the circuit breaker
+    private List<Meal> readMeals(HttpResponse<byte[]> response) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", HttpHeaders.EMPTY, null, null);
+        }
+        if (status.isError()) {
+            throw HttpServerErrorException.create(status, "", HttpHeaders.EMPTY, null, null);
+        }
+        try {
+            return mealStreamReader.read(new ByteArrayInputStream(response.body()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
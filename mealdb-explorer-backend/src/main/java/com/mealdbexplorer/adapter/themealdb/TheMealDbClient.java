@@ -1,58 +1,135 @@
 package com.mealdbexplorer.adapter.themealdb;
 
 import com.mealdbexplorer.adapter.themealdb.dto.CategoryDbResponse;
-import com.mealdbexplorer.adapter.themealdb.dto.MealDbResponse;
+import com.mealdbexplorer.domain.model.Meal;
 import com.mealdbexplorer.exception.ExternalApiException;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
 @Slf4j
 @Component
 public class TheMealDbClient {
 
     private final RestClient restClient;
+    private final MealStreamReader mealStreamReader;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+    // Keyed by upstream URI so concurrent cache misses share one round trip
+    private final SingleFlight singleFlight;
 
-    public TheMealDbClient(@Value("${themealdb.api.base-url}") String baseUrl) {
+    public TheMealDbClient(@Value("${themealdb.api.base-url}") String baseUrl,
+                           @Value("${themealdb.api.timeout:5000}") long timeoutMs,
+                           @Value("${themealdb.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                           @Value("${themealdb.limiter.interactive-wait-ms:500}") long interactiveWaitMs,
+                           @Value("${themealdb.limiter.background-wait-ms:30000}") long backgroundWaitMs,
+                           ClientHttpRequestFactory theMealDbRequestFactory,
+                           MealStreamReader mealStreamReader,
+                           MeterRegistry meterRegistry,
+                           BulkheadRegistry bulkheadRegistry,
+                           CircuitBreakerRegistry circuitBreakerRegistry,
+                           AdaptiveConcurrencyLimiter theMealDbLimiter) {
         this.restClient = RestClient.builder()
                 .baseUrl(baseUrl)
+                .requestFactory(theMealDbRequestFactory)
                 .build();
+        this.mealStreamReader = mealStreamReader;
+        this.meterRegistry = meterRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.limiter = theMealDbLimiter;
+        // A joiner waits as long as a leader of its priority may take: the limiter's wait plus one round trip
+        this.singleFlight = new SingleFlight(Duration.ofMillis(interactiveWaitMs + connectTimeoutMs + timeoutMs),
+                Duration.ofMillis(backgroundWaitMs + connectTimeoutMs + timeoutMs));
+
+        FunctionCounter.builder("themealdb.client.singleflight.calls", singleFlight, SingleFlight::getExecutedCalls)
+                .description("Upstream calls actually executed through single-flight")
+                .register(meterRegistry);
+        FunctionCounter.builder("themealdb.client.singleflight.coalesced", singleFlight, SingleFlight::getCoalescedCalls)
+                .description("Calls that joined an identical in-flight upstream call")
+                .register(meterRegistry);
+        Gauge.builder("themealdb.client.singleflight.inflight", singleFlight, SingleFlight::getInFlightCount)
+                .register(meterRegistry);
     }
 
-    public MealDbResponse searchMealsByName(String name) {
-        try {
-            log.debug("Searching meals by name: {}", name);
-            return restClient.get()
-                    .uri("/search.php?s={name}", name)
-                    .retrieve()
-                    .body(MealDbResponse.class);
-        } catch (Exception e) {
-            log.error("Error searching meals by name: {}", name, e);
-            throw new ExternalApiException("Failed to search meals", e);
-        }
+    public List<Meal> searchMealsByName(String name) {
+        return singleFlight.execute("/search.php?s=" + name, () -> {
+            try {
+                log.debug("Searching meals by name: {}", name);
+                return call("search", () -> readMeals(restClient.get()
+                        .uri("/search.php?s={name}", name)));
+            } catch (UpstreamUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error searching meals by name: {}", name, e);
+                throw new ExternalApiException("Failed to search meals", e);
+            }
+        });
     }
 
-    public MealDbResponse getMealById(String id) {
-        try {
-            log.debug("Fetching meal by id: {}", id);
-            return restClient.get()
-                    .uri("/lookup.php?i={id}", id)
-                    .retrieve()
-                    .body(MealDbResponse.class);
-        } catch (Exception e) {
-            log.error("Error fetching meal by id: {}", id, e);
-            throw new ExternalApiException("Failed to fetch meal details", e);
-        }
+    public List<Meal> getMealById(String id) {
+        return singleFlight.execute("/lookup.php?i=" + id, () -> {
+            try {
+                log.debug("Fetching meal by id: {}", id);
+                return call("lookup", () -> readMeals(restClient.get()
+                        .uri("/lookup.php?i={id}", id)));
+            } catch (UpstreamUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error fetching meal by id: {}", id, e);
+                throw new ExternalApiException("Failed to fetch meal details", e);
+            }
+        });
+    }
+
+    public List<Meal> searchMealsByFirstLetter(String letter) {
+        return singleFlight.execute("/search.php?f=" + letter, () -> {
+            try {
+                log.debug("Searching meals by first letter: {}", letter);
+                return call("search", () -> readMeals(restClient.get()
+                        .uri("/search.php?f={letter}", letter)));
+            } catch (UpstreamUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error searching meals by first letter: {}", letter, e);
+                throw new ExternalApiException("Failed to search meals by first letter", e);
+            }
+        });
     }
 
-    public MealDbResponse getRandomMeal() {
+    // Not coalesced: concurrent callers each expect their own random meal
+    public List<Meal> getRandomMeal() {
         try {
             log.debug("Fetching random meal");
-            return restClient.get()
-                    .uri("/random.php")
-                    .retrieve()
-                    .body(MealDbResponse.class);
+            return call("random", () -> readMeals(restClient.get()
+                    .uri("/random.php")));
+        } catch (UpstreamUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching random meal", e);
             throw new ExternalApiException("Failed to fetch random meal", e);
@@ -60,41 +137,137 @@ public class TheMealDbClient {
     }
 
     public CategoryDbResponse getAllCategories() {
+        return singleFlight.execute("/categories.php", () -> {
+            try {
+                log.debug("Fetching all categories");
+                return call("categories", () -> restClient.get()
+                        .uri("/categories.php")
+                        .retrieve()
+                        .body(CategoryDbResponse.class));
+            } catch (UpstreamUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error fetching categories", e);
+                throw new ExternalApiException("Failed to fetch categories", e);
+            }
+        });
+    }
+
+    public List<Meal> getMealsByCategory(String category) {
+        return singleFlight.execute("/filter.php?c=" + category, () -> {
+            try {
+                log.debug("Fetching meals by category: {}", category);
+                return call("filter", () -> readMeals(restClient.get()
+                        .uri("/filter.php?c={category}", category)));
+            } catch (UpstreamUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error fetching meals by category: {}", category, e);
+                throw new ExternalApiException("Failed to fetch meals by category", e);
+            }
+        });
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Parses a meals payload straight from the response stream into domain meals. Error statuses raise
+     * the same exceptions {@code retrieve()} would, so 4xx responses stay out of the circuit breaker.
+     */
+    private List<Meal> readMeals(RestClient.RequestHeadersSpec<?> request) {
+        return request.exchange((req, response) -> {
+            HttpStatusCode status = response.getStatusCode();
+            if (status.is4xxClientError()) {
+                throw HttpClientErrorException.create(status, response.getStatusText(), response.getHeaders(), null, null);
+            }
+            if (status.isError()) {
+                throw HttpServerErrorException.create(status, response.getStatusText(), response.getHeaders(), null, null);
+            }
+            return mealStreamReader.read(response.getBody());
+        });
+    }
+
+    /**
+     * Runs one upstream round trip once the adaptive limiter admits it, then behind the endpoint's
+     * bulkhead and circuit breaker. Calls not admitted or rejected fail fast with
+     * {@link UpstreamUnavailableException} instead of holding a request thread.
+     */
+    private <T> T call(String endpoint, Supplier<T> request) {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire(endpoint);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpoint);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint);
+        // Released in finally, so not even an Error can leak the permit and shrink the limit for good
+        AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.IGNORED;
         try {
-            log.debug("Fetching all categories");
-            return restClient.get()
-                    .uri("/categories.php")
-                    .retrieve()
-                    .body(CategoryDbResponse.class);
-        } catch (Exception e) {
-            log.error("Error fetching categories", e);
-            throw new ExternalApiException("Failed to fetch categories", e);
+            T result = Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, () -> timed(endpoint, request))).get();
+            outcome = AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            return result;
+        } catch (BulkheadFullException | CallNotPermittedException e) {
+            log.warn("TheMealDB {} call rejected: {}", endpoint, e.getMessage());
+            throw new UpstreamUnavailableException("TheMealDB is temporarily unavailable", e);
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            permit.release(outcome);
         }
     }
 
-    public MealDbResponse getMealsByCategory(String category) {
+    private AdaptiveConcurrencyLimiter.Permit acquire(String endpoint) {
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiter = limiter.acquire(UpstreamPriority.current());
         try {
-            log.debug("Fetching meals by category: {}", category);
-            return restClient.get()
-                    .uri("/filter.php?c={category}", category)
-                    .retrieve()
-                    .body(MealDbResponse.class);
-        } catch (Exception e) {
-            log.error("Error fetching meals by category: {}", category, e);
-            throw new ExternalApiException("Failed to fetch meals by category", e);
+            return waiter.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // A permit granted while we were being interrupted goes straight back
+            if (!waiter.cancel(false) && !waiter.isCompletedExceptionally()) {
+                waiter.join().release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+            }
+            throw new UpstreamUnavailableException("Interrupted waiting for TheMealDB", e);
+        } catch (ExecutionException e) {
+            log.warn("TheMealDB {} call not admitted: {}", endpoint, e.getCause().toString());
+            throw new UpstreamUnavailableException("TheMealDB is temporarily unavailable", e.getCause());
         }
     }
 
-    public MealDbResponse getAllMeals() {
+    /**
+     * How a finished call moves the adaptive limit: throttling (429), server errors and transport
+     * failures back it off, other client errors are ordinary answers, rejections (including a
+     * client executor refusing the send) never reached the upstream.
+     */
+    static AdaptiveConcurrencyLimiter.Outcome outcomeOf(Throwable error) {
+        if (error == null) {
+            return AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+        }
+        if (error instanceof BulkheadFullException || error instanceof CallNotPermittedException
+                || error instanceof RejectedExecutionException) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        if (error instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().value() == 429
+                    ? AdaptiveConcurrencyLimiter.Outcome.DROPPED
+                    : AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+        }
+        return AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+    }
+
+    private <T> T timed(String endpoint, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            log.debug("Fetching all meals (searching with empty string)");
-            return restClient.get()
-                    .uri("/search.php?s=")
-                    .retrieve()
-                    .body(MealDbResponse.class);
-        } catch (Exception e) {
-            log.error("Error fetching all meals", e);
-            throw new ExternalApiException("Failed to fetch all meals", e);
+            T body = request.get();
+            outcome = "success";
+            return body;
+        } finally {
+            sample.stop(Timer.builder("themealdb.client.requests")
+                    .description("Round trips to TheMealDB")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
-}
\ No newline at end of file
+}
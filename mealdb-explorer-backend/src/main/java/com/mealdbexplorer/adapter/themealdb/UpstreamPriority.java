@@ -0,0 +1,40 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import java.util.function.Supplier;
+
+/**
+ * Who is waiting for a TheMealDB call. Interactive calls are admitted ahead of background ones
+ * (catalog crawls, cache refreshes, prefetching) when the upstream's concurrency limit is reached.
+ * Held per thread; code fanning calls out to other threads passes it on explicitly.
+ */
+public enum UpstreamPriority {
+
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<UpstreamPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static UpstreamPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code call} with upstream calls made on this thread at this priority.
+     */
+    public <T> T run(Supplier<T> call) {
+        UpstreamPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public void run(Runnable call) {
+        run(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
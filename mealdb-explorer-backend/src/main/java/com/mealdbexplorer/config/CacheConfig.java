@@ -1,33 +1,76 @@
 package com.mealdbexplorer.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
+@Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final List<String> CACHE_NAMES = List.of(
+            "meal",
+            "categories",
+            "mealsByCategory",
+            "popularMeals",
+            "renderedResponses"
+    );
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "meals",
-                "meal",
-                "categories",
-                "mealsByCategory",
-                "allMeals",
-                "popularMeals"
-        );
-
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(60, TimeUnit.MINUTES)
-                .recordStats());
+    public CacheReloaders cacheReloaders(CacheProperties properties) {
+        return new CacheReloaders(properties.getReload().getThreads(), properties.getReload().getQueueSize());
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties, CacheReloaders cacheReloaders) {
+        long budget = properties.getHeapBudget().toBytes();
+        int totalPercent = CACHE_NAMES.stream()
+                .mapToInt(name -> properties.specFor(name).getBudgetPercent())
+                .sum();
+        if (totalPercent > 100) {
+            throw new IllegalStateException("Cache budget shares add up to " + totalPercent + "% of cache.heap-budget");
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new RefreshOnlyCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        // Static: only the caches below exist, so a misspelt cache name fails instead of growing unbounded
+        cacheManager.setCacheNames(List.of());
+
+        for (String name : CACHE_NAMES) {
+            CacheProperties.Spec spec = properties.specFor(name);
+            long maxBytes = budget * spec.getBudgetPercent() / 100;
+
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumWeight(maxBytes)
+                    .weigher(new CacheWeigher())
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .recordStats();
+
+            if (spec.getRefreshAfterWrite() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite())
+                        .executor(cacheReloaders.executor());
+                cacheManager.registerCustomCache(name, builder.build(cacheReloaders.loaderFor(name)));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+
+            log.info("Cache '{}': {} KB, expire after {}, refresh after {}", name, maxBytes / 1024,
+                    spec.getExpireAfterWrite(), spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : "never");
+        }
 
         return cacheManager;
     }
@@ -0,0 +1,57 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/cachefootprint}: estimated bytes held by each cache against its share of the budget.
+ */
+@Component
+@Endpoint(id = "cachefootprint")
+@RequiredArgsConstructor
+public class CacheFootprintEndpoint {
+
+    private final CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Object> footprint() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        long totalBytes = 0;
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            Policy.Eviction<Object, Object> eviction = nativeCache.policy().eviction().orElse(null);
+            long estimatedBytes = eviction != null ? eviction.weightedSize().orElse(0) : 0;
+            CacheStats stats = nativeCache.stats();
+            totalBytes += estimatedBytes;
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("entries", nativeCache.estimatedSize());
+            entry.put("estimatedBytes", estimatedBytes);
+            entry.put("maxBytes", eviction != null ? eviction.getMaximum() : null);
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            caches.put(name, entry);
+        }
+
+        Map<String, Object> footprint = new LinkedHashMap<>();
+        footprint.put("totalEstimatedBytes", totalBytes);
+        footprint.put("caches", caches);
+        return footprint;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mealdbexplorer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache sizing under one heap budget. Each cache is bounded by estimated bytes rather than
+ * entry count, so one large list and many small meals are accounted for alike.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private DataSize heapBudget = DataSize.ofMegabytes(40);
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+    private Reload reload = new Reload();
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    @Data
+    public static class Spec {
+
+        // Share of heapBudget this cache may fill
+        private int budgetPercent = 10;
+        private Duration expireAfterWrite = Duration.ofMinutes(60);
+        // Entries older than this are reloaded in the background on their next read; unset disables
+        private Duration refreshAfterWrite;
+    }
+
+    @Data
+    public static class Reload {
+
+        // Background reloads of refresh-after-write entries run on this many threads
+        private int threads = 2;
+        // Reloads waiting for a thread; beyond this they are dropped until the entry is read again
+        private int queueSize = 256;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.mealdbexplorer.adapter.themealdb.UpstreamPriority;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loaders for caches with refresh-after-write, registered by the services that own them.
+ * In practice Caffeine only calls {@code reload}, in the background, for entries past their refresh
+ * age: {@link RefreshOnlyCaffeineCache} looks entries up with {@code getIfPresent}, so plain misses
+ * are loaded by the {@code @Cacheable} method and not counted as loads. Reloads call the upstream at
+ * background priority, on a small pool of their own rather than the common fork-join pool.
+ */
+public class CacheReloaders {
+
+    private final Map<String, Function<Object, Object>> loaders = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public CacheReloaders(int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        // A full queue rejects the reload; Caffeine drops it and the entry is refreshed on a later read
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-reload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void register(String cacheName, Function<Object, Object> loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Loads through the owning service's function: {@code load} at the caller's priority, which
+     * yields no entry while nothing is registered, and {@code reload} at background priority, which
+     * then keeps the old value.
+     */
+    CacheLoader<Object, Object> loaderFor(String cacheName) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                Function<Object, Object> loader = loaders.get(cacheName);
+                return loader != null ? loader.apply(key) : null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                Function<Object, Object> loader = loaders.get(cacheName);
+                return loader != null ? UpstreamPriority.BACKGROUND.run(() -> loader.apply(key)) : oldValue;
+            }
+        };
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+
+import java.util.Collection;
+
+/**
+ * Weighs cache entries by their estimated retained heap in bytes. The estimate assumes compressed
+ * oops and compact (Latin-1) strings; it is meant for budgeting, not for exact accounting.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    /**
+     * A cached value that knows its own size, for types this weigher cannot see into.
+     */
+    public interface Sized {
+        long estimatedBytes();
+    }
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int DEFAULT_ENTRY = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(estimate(key) + estimate(value), Integer.MAX_VALUE);
+    }
+
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Sized sized) {
+            return sized.estimatedBytes();
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof String string) {
+            return OBJECT_HEADER + 8 + OBJECT_HEADER + string.length();
+        }
+        if (value instanceof Meal meal) {
+            return OBJECT_HEADER + 10 * REFERENCE
+                    + estimate(meal.getId())
+                    + estimate(meal.getName())
+                    + estimate(meal.getCategory())
+                    + estimate(meal.getArea())
+                    + estimate(meal.getInstructions())
+                    + estimate(meal.getThumbnailUrl())
+                    + estimate(meal.getYoutubeUrl())
+                    + estimate(meal.getIngredients())
+                    + estimate(meal.getTags())
+                    + (meal.getIngredientIds() != null ? OBJECT_HEADER + 4L * meal.getIngredientIds().length : 0);
+        }
+        if (value instanceof Ingredient ingredient) {
+            return OBJECT_HEADER + 2 * REFERENCE + estimate(ingredient.getName()) + estimate(ingredient.getMeasure());
+        }
+        if (value instanceof Category category) {
+            return OBJECT_HEADER + 4 * REFERENCE
+                    + estimate(category.getId())
+                    + estimate(category.getName())
+                    + estimate(category.getThumbnailUrl())
+                    + estimate(category.getDescription());
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 8 + OBJECT_HEADER + (long) REFERENCE * collection.size();
+            for (Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Object[] array) {
+            long size = OBJECT_HEADER + (long) REFERENCE * array.length;
+            for (Object element : array) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        return DEFAULT_ENTRY;
+    }
+}
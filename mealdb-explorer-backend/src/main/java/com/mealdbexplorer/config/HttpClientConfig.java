@@ -0,0 +1,84 @@
+package com.mealdbexplorer.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Pooled keep-alive transport for TheMealDB. Every call is bounded: waiting for a pooled
+ * connection, connecting and waiting for the response each have their own timeout.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${themealdb.api.timeout:5000}")
+    private long responseTimeoutMs;
+
+    @Value("${themealdb.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${themealdb.http.pool-timeout-ms:1000}")
+    private long poolTimeoutMs;
+
+    @Value("${themealdb.http.max-connections:32}")
+    private int maxConnections;
+
+    @Value("${themealdb.http.idle-timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient theMealDbHttpClient() {
+        // Single upstream host, so the per-route limit is the pool size
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory theMealDbRequestFactory(CloseableHttpClient theMealDbHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(theMealDbHttpClient);
+    }
+
+    /**
+     * Transport of the non-blocking client; responses complete on the JDK client's executor,
+     * not on request threads.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "themealdb.client.mode", havingValue = "async")
+    public HttpClient theMealDbAsyncHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
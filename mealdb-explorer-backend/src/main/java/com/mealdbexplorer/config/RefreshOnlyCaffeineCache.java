@@ -0,0 +1,22 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Spring's {@link CaffeineCache} looks a {@code LoadingCache} up with {@code get}, which runs the
+ * loader on every miss. Here the loader only exists for refresh-after-write, so lookups use
+ * {@code getIfPresent}: it still triggers a background reload for stale entries, and a miss is
+ * a miss rather than a failed load.
+ */
+class RefreshOnlyCaffeineCache extends CaffeineCache {
+
+    RefreshOnlyCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().getIfPresent(key);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mealdbexplorer.config;
+
+import com.mealdbexplorer.adapter.themealdb.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead and circuit breaker settings shared by every TheMealDB endpoint. Each endpoint gets
+ * its own instances, so a failing lookup path does not open the circuit for categories. The
+ * adaptive concurrency limiter is the one upstream-wide instance.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${themealdb.bulkhead.max-concurrent-calls:16}")
+    private int maxConcurrentCalls;
+
+    @Value("${themealdb.bulkhead.max-wait-ms:100}")
+    private long maxWaitMs;
+
+    @Value("${themealdb.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${themealdb.circuit-breaker.slow-call-ms:3000}")
+    private long slowCallMs;
+
+    @Value("${themealdb.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${themealdb.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${themealdb.circuit-breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${themealdb.limiter.initial-limit:8}")
+    private int limiterInitialLimit;
+
+    @Value("${themealdb.limiter.min-limit:2}")
+    private int limiterMinLimit;
+
+    @Value("${themealdb.limiter.max-limit:32}")
+    private int limiterMaxLimit;
+
+    @Value("${themealdb.limiter.latency-threshold-ms:1500}")
+    private long limiterLatencyThresholdMs;
+
+    @Value("${themealdb.limiter.backoff-ratio:0.9}")
+    private double limiterBackoffRatio;
+
+    @Value("${themealdb.limiter.background-share:0.75}")
+    private double limiterBackgroundShare;
+
+    @Value("${themealdb.limiter.interactive-wait-ms:500}")
+    private long limiterInteractiveWaitMs;
+
+    @Value("${themealdb.limiter.background-wait-ms:30000}")
+    private long limiterBackgroundWaitMs;
+
+    @Value("${themealdb.limiter.max-queued:200}")
+    private int limiterMaxQueued;
+
+    /**
+     * One limit for the whole upstream, in front of the per-endpoint bulkheads: TheMealDB throttles
+     * us by total load, not per endpoint.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter theMealDbLimiter(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limiterInitialLimit, limiterMinLimit,
+                limiterMaxLimit, Duration.ofMillis(limiterLatencyThresholdMs), limiterBackoffRatio,
+                limiterBackgroundShare, Duration.ofMillis(limiterInteractiveWaitMs),
+                Duration.ofMillis(limiterBackgroundWaitMs), limiterMaxQueued);
+        Gauge.builder("themealdb.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent TheMealDB calls")
+                .register(meterRegistry);
+        Gauge.builder("themealdb.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("themealdb.limiter.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openMs))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A 4xx is our request's fault, not a sign the upstream is unhealthy
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
@@ -2,18 +2,30 @@ package com.mealdbexplorer.controller;
 
 import com.mealdbexplorer.controller.dto.*;
 import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.MatchQuery;
 import com.mealdbexplorer.domain.model.MatchResult;
 import com.mealdbexplorer.domain.model.Meal;
 import com.mealdbexplorer.mapper.ResponseMapper;
 import com.mealdbexplorer.service.matcher.MatcherService;
 import com.mealdbexplorer.service.meal.MealService;
+import com.mealdbexplorer.service.meal.PopularityTracker;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
@@ -24,84 +36,185 @@ public class MealController {
     private final MealService mealService;
     private final MatcherService matcherService;
     private final ResponseMapper responseMapper;
+    private final ResponseCaching responseCaching;
+    private final RenderedResponseCache renderedResponses;
+    private final PopularityTracker popularityTracker;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/search")
-    public ResponseEntity<List<MealResponse>> searchMeals(@RequestParam String name) {
+    public CompletableFuture<ResponseEntity<List<?>>> searchMeals(@RequestParam String name,
+                                                                  @RequestParam(required = false) String fields) {
         log.info("GET /api/meals/search - name: {}", name);
 
-        List<Meal> meals = mealService.searchMealsByName(name);
-        List<MealResponse> response = responseMapper.toMealResponseList(meals);
-
-        return ResponseEntity.ok(response);
+        MealFields mealFields = MealFields.parse(fields);
+        return mealService.searchMealsByNameAsync(name)
+                .thenApply(meals -> ResponseEntity.ok(toMealList(meals, mealFields)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MealResponse> getMealById(@PathVariable String id) {
+    public CompletableFuture<ResponseEntity<MealResponse>> getMealById(@PathVariable String id, WebRequest webRequest) {
         log.info("GET /api/meals/{}", id);
 
-        Meal meal = mealService.getMealById(id);
-        MealResponse response = responseMapper.toMealResponse(meal);
-
-        return ResponseEntity.ok(response);
+        // Read here: the future may complete on an upstream client thread
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        CacheControl cacheControl = responseCaching.cacheControl("meal");
+
+        return mealService.getMealByIdAsync(id).thenApply(meal -> {
+            popularityTracker.recordView(meal.getId());
+            String etag = ResponseCaching.etag(meal);
+            if (ResponseCaching.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(responseMapper.toMealResponse(meal));
+        });
     }
 
     @GetMapping("/random")
-    public ResponseEntity<MealResponse> getRandomMeal() {
+    public CompletableFuture<ResponseEntity<MealResponse>> getRandomMeal() {
         log.info("GET /api/meals/random");
 
-        Meal meal = mealService.getRandomMeal();
-        MealResponse response = responseMapper.toMealResponse(meal);
-
-        return ResponseEntity.ok(response);
+        return mealService.getRandomMealAsync()
+                .thenApply(meal -> ResponseEntity.ok(responseMapper.toMealResponse(meal)));
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+    public ResponseEntity<byte[]> getAllCategories(WebRequest webRequest) {
         log.info("GET /api/meals/categories");
 
         List<Category> categories = mealService.getAllCategories();
-        List<CategoryResponse> response = responseMapper.toCategoryResponseList(categories);
+        String etag = ResponseCaching.etag(categories);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(response);
+        return renderedResponses.respond("categories", etag, responseCaching.cacheControl("categories"), webRequest,
+                () -> responseMapper.toCategoryResponseList(categories));
     }
 
     @GetMapping("/category/{name}")
-    public ResponseEntity<List<MealResponse>> getMealsByCategory(@PathVariable String name) {
+    public ResponseEntity<byte[]> getMealsByCategory(@PathVariable String name,
+                                                     @RequestParam(required = false) String fields,
+                                                     WebRequest webRequest) {
         log.info("GET /api/meals/category/{}", name);
 
+        MealFields mealFields = MealFields.parse(fields);
         List<Meal> meals = mealService.getMealsByCategory(name);
-        List<MealResponse> response = responseMapper.toMealResponseList(meals);
+        String etag = ResponseCaching.etag(meals, mealFields.representation());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(response);
+        return renderedResponses.respond("category/" + name, etag, responseCaching.cacheControl("mealsByCategory"),
+                webRequest, () -> toMealList(meals, mealFields));
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<List<MealResponse>> getPopularMeals() {
+    public ResponseEntity<byte[]> getPopularMeals(@RequestParam(required = false) String fields,
+                                                  WebRequest webRequest) {
         log.info("GET /api/meals/popular");
 
+        MealFields mealFields = MealFields.parse(fields);
         List<Meal> meals = mealService.getPopularMeals();
-        List<MealResponse> response = responseMapper.toMealResponseList(meals);
+        String etag = ResponseCaching.etag(meals, mealFields.representation());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(response);
+        return renderedResponses.respond("popular", etag, responseCaching.cacheControl("popularMeals"), webRequest,
+                () -> toMealList(meals, mealFields));
     }
 
     @PostMapping("/what-can-i-cook")
     public ResponseEntity<List<MatchResponse>> whatCanICook(@Valid @RequestBody MatchRequest request) {
         log.info("POST /api/meals/what-can-i-cook - {} ingredients", request.getIngredients().size());
 
-        List<MatchResult> matchResults;
-
-        if (request.getMinMatchPercentage() != null) {
-            matchResults = matcherService.findMatchingMealsWithCustomThreshold(
-                    request.getIngredients(),
-                    request.getMinMatchPercentage()
-            );
-        } else {
-            matchResults = matcherService.findMatchingMeals(request.getIngredients());
-        }
+        List<MatchResult> matchResults = matcherService.findMatchingMeals(
+                request.getIngredients(),
+                request.getMinMatchPercentage(),
+                request.getOffset(),
+                request.getLimit()
+        );
+        popularityTracker.recordMatches(matchResults);
 
         List<MatchResponse> response = responseMapper.toMatchResponseList(matchResults);
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Evaluates many pantries in one call; results come back in request order, each with its own
+     * threshold and page. Each page counts towards popularity like a single request would.
+     */
+    @PostMapping("/what-can-i-cook/batch")
+    public ResponseEntity<List<List<MatchResponse>>> whatCanICookBatch(@Valid @RequestBody BatchMatchRequest request) {
+        log.info("POST /api/meals/what-can-i-cook/batch - {} requests", request.getRequests().size());
+
+        List<MatchQuery> queries = request.getRequests().stream()
+                .map(matchRequest -> MatchQuery.builder()
+                        .ingredients(matchRequest.getIngredients())
+                        .minMatchPercentage(matchRequest.getMinMatchPercentage())
+                        .offset(matchRequest.getOffset())
+                        .limit(matchRequest.getLimit())
+                        .build())
+                .toList();
+
+        List<List<MatchResult>> matchResults = matcherService.findMatchingMealsBatch(queries);
+        matchResults.forEach(popularityTracker::recordMatches);
+
+        List<List<MatchResponse>> response = matchResults.stream()
+                .map(responseMapper::toMatchResponseList)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Same matching as {@link #whatCanICook}, selected with {@code Accept: application/x-ndjson}.
+     * One {@link MatchResponse} per line, best first, each flushed as soon as it is written. Rows
+     * count towards popularity once written, so a stream the client drops early counts what it got.
+     */
+    @PostMapping(value = "/what-can-i-cook", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> whatCanICookStream(@Valid @RequestBody MatchRequest request) {
+        log.info("POST /api/meals/what-can-i-cook (ndjson) - {} ingredients", request.getIngredients().size());
+
+        // Ranked here so matching errors still map to an error response before anything is written
+        Stream<MatchResult> matchResults = matcherService.streamMatchingMeals(
+                request.getIngredients(),
+                request.getMinMatchPercentage(),
+                request.getOffset(),
+                request.getLimit()
+        );
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                int rank = 0;
+                for (MatchResult matchResult : (Iterable<MatchResult>) matchResults::iterator) {
+                    objectMapper.writeValue(generator, responseMapper.toMatchResponse(matchResult));
+                    generator.writeRaw('\n');
+                    generator.flush();
+                    popularityTracker.recordMatch(rank++, matchResult);
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private List<?> toMealList(List<Meal> meals, MealFields fields) {
+        if (fields.isFull()) {
+            return responseMapper.toMealResponseList(meals);
+        }
+        if (fields.isSummary()) {
+            return responseMapper.toMealSummaryResponseList(mealService.summarize(meals));
+        }
+        return responseMapper.toMealProjectionList(meals, fields.names());
+    }
+}
@@ -0,0 +1,54 @@
+package com.mealdbexplorer.controller;
+
+import com.mealdbexplorer.exception.InvalidRequestParameterException;
+import com.mealdbexplorer.mapper.ResponseMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Parsed {@code fields=} parameter of the meal list endpoints: absent means full meals,
+ * {@code summary} the card view, anything else a comma-separated list of meal properties; an
+ * unknown property is rejected with 400.
+ * The canonical form (sorted, without duplicates) names the representation in ETags and
+ * rendered-body keys, so equivalent parameters share an entry and different ones never do.
+ */
+record MealFields(String representation, List<String> names) {
+
+    static final String SUMMARY = "summary";
+
+    private static final MealFields FULL = new MealFields(null, List.of());
+
+    static MealFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FULL;
+        }
+        if (SUMMARY.equals(fields.trim())) {
+            return new MealFields(SUMMARY, List.of());
+        }
+
+        List<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        List<String> unknown = names.stream()
+                .filter(name -> !ResponseMapper.MEAL_FIELDS.contains(name))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestParameterException("fields", "Unknown meal fields " + unknown
+                    + "; expected summary or a list of " + new TreeSet<>(ResponseMapper.MEAL_FIELDS));
+        }
+        return names.isEmpty() ? FULL : new MealFields(String.join("+", names), names);
+    }
+
+    boolean isFull() {
+        return representation == null;
+    }
+
+    boolean isSummary() {
+        return SUMMARY.equals(representation);
+    }
+}
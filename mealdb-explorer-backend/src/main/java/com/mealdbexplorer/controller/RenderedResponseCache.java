@@ -0,0 +1,128 @@
+package com.mealdbexplorer.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mealdbexplorer.config.CacheWeigher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of hot read endpoints, plain and gzip, keyed by endpoint and ETag.
+ * The ETag is the SHA-256 of the cached domain value, so when that entry is refreshed or reloaded
+ * with different content the old rendering is simply never looked up again and ages out. The bodies
+ * live in the {@code renderedResponses} cache, sized by its share of {@code cache.heap-budget}.
+ */
+@Component
+public class RenderedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Object, Object> bodies;
+
+    public RenderedResponseCache(ObjectMapper objectMapper,
+                                 CacheManager cacheManager,
+                                 @Value("${response-cache.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.bodies = ((CaffeineCache) cacheManager.getCache("renderedResponses")).getNativeCache();
+    }
+
+    /**
+     * Writes the rendered body for {@code endpoint} and {@code etag}, rendering {@code response} only
+     * on a miss. Gzip bytes are sent to clients that accept them.
+     */
+    public ResponseEntity<byte[]> respond(String endpoint, String etag, CacheControl cacheControl,
+                                          WebRequest webRequest, Supplier<Object> response) {
+        RenderedBody body = enabled
+                ? (RenderedBody) bodies.get(endpoint + etag, key -> render(response.get()))
+                : render(response.get());
+
+        boolean gzip = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? body.gzip : body.plain);
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: named, or covered by {@code *}, with a
+     * non-zero q-value. {@code gzip;q=0} refuses it, and an explicit entry overrides the wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            boolean accepted = quality(parts) > 0;
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard != null && wildcard;
+    }
+
+    // q defaults to 1; a malformed value counts as 0, so an unreadable preference never turns gzip on
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private RenderedBody render(Object response) {
+        try {
+            byte[] plain = objectMapper.writeValueAsBytes(response);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(plain.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(plain);
+            }
+            return new RenderedBody(plain, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record RenderedBody(byte[] plain, byte[] gzip) implements CacheWeigher.Sized {
+
+        @Override
+        public long estimatedBytes() {
+            return CacheWeigher.estimate(plain) + CacheWeigher.estimate(gzip);
+        }
+    }
+}
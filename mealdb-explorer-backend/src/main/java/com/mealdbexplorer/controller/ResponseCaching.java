@@ -0,0 +1,143 @@
+package com.mealdbexplorer.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mealdbexplorer.config.CacheProperties;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * ETags and Cache-Control headers for read endpoints backed by a server-side cache. ETags are
+ * computed from the domain values, so a 304 is decided before any mapping or serialization.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCaching {
+
+    private final CacheProperties cacheProperties;
+
+    /**
+     * Clients may reuse a response for as long as the server would serve the same cache entry
+     * without refreshing it.
+     */
+    public CacheControl cacheControl(String cacheName) {
+        CacheProperties.Spec spec = cacheProperties.specFor(cacheName);
+        Duration maxAge = spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : spec.getExpireAfterWrite();
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * SHA-256 of a domain value (a meal, a category, or a list of them), over its stable field
+     * values: equal content always gets the same ETag and changed content practically never does.
+     * Element digests are memoized per instance, so a catalog list is hashed in full only once.
+     */
+    public static String etag(Object value) {
+        return etag(value, null);
+    }
+
+    /**
+     * ETag of one representation of a domain value, e.g. a {@code fields=} projection of it. The
+     * representation name is appended verbatim rather than hashed, so two representations of the
+     * same value can never share an ETag; it must not contain quotes or commas.
+     */
+    public static String etag(Object value, String representation) {
+        MessageDigest digest = sha256();
+        if (value instanceof Collection<?> collection) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(collection.size()).array());
+            for (Object element : collection) {
+                digest.update(element != null ? ELEMENT_DIGESTS.get(element, ResponseCaching::digest) : NULL_DIGEST);
+            }
+        } else {
+            digest.update(value != null ? digest(value) : NULL_DIGEST);
+        }
+        String hex = HexFormat.of().formatHex(digest.digest());
+        return "\"" + (representation != null ? hex + "-" + representation : hex) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches {@code etag}, for handlers that finish off the
+     * request thread and so cannot use {@code WebRequest.checkNotModified}. Weak comparison.
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Served values are never mutated, so an instance's digest stays valid for as long as it is reachable
+    private static final Cache<Object, byte[]> ELEMENT_DIGESTS = Caffeine.newBuilder().weakKeys().build();
+    private static final byte[] NULL_DIGEST = new byte[32];
+
+    private static byte[] digest(Object value) {
+        FieldHasher fields = new FieldHasher();
+        if (value instanceof Meal meal) {
+            fields.add("meal").add(meal.getId()).add(meal.getName()).add(meal.getCategory()).add(meal.getArea())
+                    .add(meal.getInstructions()).add(meal.getThumbnailUrl()).add(meal.getYoutubeUrl());
+            List<Ingredient> ingredients = meal.getIngredients() != null ? meal.getIngredients() : List.of();
+            fields.add(ingredients.size());
+            for (Ingredient ingredient : ingredients) {
+                fields.add(ingredient.getName()).add(ingredient.getMeasure());
+            }
+            List<String> tags = meal.getTags() != null ? meal.getTags() : List.of();
+            fields.add(tags.size());
+            tags.forEach(fields::add);
+        } else if (value instanceof Category category) {
+            fields.add("category").add(category.getId()).add(category.getName())
+                    .add(category.getThumbnailUrl()).add(category.getDescription());
+        } else {
+            throw new IllegalArgumentException("No stable ETag fields for " + value.getClass().getName());
+        }
+        return fields.digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JVM", e);
+        }
+    }
+
+    // Length-prefixed UTF-8, with -1 for null, so no two field sequences feed the digest the same bytes
+    private static final class FieldHasher {
+        private final MessageDigest digest = sha256();
+
+        FieldHasher add(String value) {
+            if (value == null) {
+                return add(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            add(bytes.length);
+            digest.update(bytes);
+            return this;
+        }
+
+        FieldHasher add(int value) {
+            digest.update((byte) (value >>> 24));
+            digest.update((byte) (value >>> 16));
+            digest.update((byte) (value >>> 8));
+            digest.update((byte) value);
+            return this;
+        }
+    }
+}
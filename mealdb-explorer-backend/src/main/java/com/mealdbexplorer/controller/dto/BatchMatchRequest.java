@@ -0,0 +1,23 @@
+package com.mealdbexplorer.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMatchRequest {
+
+    @Valid
+    @NotEmpty(message = "Requests list cannot be empty")
+    @Size(max = 500, message = "A batch can hold at most 500 requests")
+    private List<MatchRequest> requests;
+}
@@ -1,5 +1,6 @@
 package com.mealdbexplorer.controller.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,4 +19,10 @@ public class MatchRequest {
     private List<String> ingredients;
 
     private Double minMatchPercentage;
+
+    @Min(value = 0, message = "Offset cannot be negative")
+    private Integer offset;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    private Integer limit;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.mealdbexplorer.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealSummaryResponse {
+
+    private String id;
+    private String name;
+    private String category;
+    private String area;
+    private String thumbnailUrl;
+}
@@ -0,0 +1,83 @@
+package com.mealdbexplorer.domain.model;
+
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.domain.model.logic.IngredientIndex;
+import com.mealdbexplorer.domain.model.logic.MealSearchIndex;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable version of the full meal catalog together with the structures derived from it.
+ * A new instance is published on every reload; readers never see a half-built catalog.
+ */
+@Getter
+public class Catalog {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<Meal> meals;
+    private final List<Category> categories;
+    private final Map<String, Meal> mealsById;
+    private final Map<String, MealSummary> summariesById;
+    private final IngredientIndex ingredientIndex;
+    private final MealSearchIndex searchIndex;
+
+    public Catalog(long version, Instant loadedAt, List<Meal> meals, List<Category> categories,
+                   IngredientDictionary dictionary) {
+        this(version, loadedAt, meals, categories, dictionary, null);
+    }
+
+    /**
+     * A version following {@code previous}: meal instances carried over from it keep their summaries,
+     * and when the meal list is the same instances in the same order both indexes are shared too.
+     * Otherwise the indexes are rebuilt, since their postings hold meal positions.
+     */
+    public Catalog(long version, Instant loadedAt, List<Meal> meals, List<Category> categories,
+                   IngredientDictionary dictionary, Catalog previous) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.meals = List.copyOf(meals);
+        this.categories = List.copyOf(categories);
+        if (previous != null && sameInstances(previous.meals, this.meals)) {
+            this.ingredientIndex = previous.ingredientIndex;
+            this.searchIndex = previous.searchIndex;
+        } else {
+            this.ingredientIndex = IngredientIndex.build(this.meals, dictionary);
+            this.searchIndex = MealSearchIndex.build(this.meals);
+        }
+
+        Map<String, Meal> byId = new LinkedHashMap<>(this.meals.size() * 2);
+        Map<String, MealSummary> summaries = new LinkedHashMap<>(this.meals.size() * 2);
+        for (Meal meal : this.meals) {
+            if (byId.putIfAbsent(meal.getId(), meal) == null) {
+                MealSummary summary = previous != null && previous.mealsById.get(meal.getId()) == meal
+                        ? previous.summariesById.get(meal.getId())
+                        : MealSummary.of(meal);
+                summaries.put(meal.getId(), summary);
+            }
+        }
+        this.mealsById = Collections.unmodifiableMap(byId);
+        this.summariesById = Collections.unmodifiableMap(summaries);
+    }
+
+    public int size() {
+        return meals.size();
+    }
+
+    private static boolean sameInstances(List<Meal> previous, List<Meal> meals) {
+        if (previous.size() != meals.size()) {
+            return false;
+        }
+        for (int i = 0; i < meals.size(); i++) {
+            if (previous.get(i) != meals.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
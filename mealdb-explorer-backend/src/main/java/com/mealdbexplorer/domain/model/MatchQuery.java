@@ -0,0 +1,20 @@
+package com.mealdbexplorer.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchQuery {
+
+    private List<String> ingredients;
+    private Double minMatchPercentage;
+    private Integer offset;
+    private Integer limit;
+}
@@ -3,6 +3,7 @@ package com.mealdbexplorer.domain.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
@@ -23,6 +24,10 @@ public class Meal {
     private List<Ingredient> ingredients;
     private List<String> tags;
 
+    // Dictionary ids parallel to ingredients, assigned when the meal enters a catalog
+    @EqualsAndHashCode.Exclude
+    private int[] ingredientIds;
+
     public int getIngredientCount() {
         return ingredients != null ? ingredients.size() : 0;
     }
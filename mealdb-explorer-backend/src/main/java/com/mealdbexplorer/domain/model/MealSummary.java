@@ -0,0 +1,32 @@
+package com.mealdbexplorer.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a meal card shows: no instructions, ingredients or tags.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealSummary {
+
+    private String id;
+    private String name;
+    private String category;
+    private String area;
+    private String thumbnailUrl;
+
+    public static MealSummary of(Meal meal) {
+        return MealSummary.builder()
+                .id(meal.getId())
+                .name(meal.getName())
+                .category(meal.getCategory())
+                .area(meal.getArea())
+                .thumbnailUrl(meal.getThumbnailUrl())
+                .build();
+    }
+}
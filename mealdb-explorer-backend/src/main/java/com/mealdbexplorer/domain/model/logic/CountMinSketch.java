@@ -0,0 +1,67 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Count-Min sketch: approximate counts for an unbounded set of keys in fixed memory.
+ * Estimates never undercount; they overcount by at most about {@code total / width} with high
+ * probability. Safe for concurrent updates without locking.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth rows, i.e. independent hashes; each extra row lowers the chance of a bad estimate
+     */
+    public CountMinSketch(int width, int depth) {
+        int rowWidth = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.counts = new AtomicLongArray(rowWidth * depth);
+    }
+
+    /**
+     * Counts one occurrence of {@code key} and returns its new estimate.
+     */
+    public long add(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.incrementAndGet(cell(hash, row)));
+        }
+        return estimate;
+    }
+
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(cell(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so older occurrences weigh half as much as newer ones.
+     */
+    public void halve() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    // Row-seeded murmur3 finalizer over the key's hash
+    private int cell(int hash, int row) {
+        int h = hash ^ (row * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+}
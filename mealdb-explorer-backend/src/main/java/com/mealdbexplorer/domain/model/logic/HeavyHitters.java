@@ -0,0 +1,71 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code capacity} keys with the highest estimated counts, fed from a {@link CountMinSketch}.
+ * Updates to keys already tracked, and offers below the admission floor, take no lock; only a key
+ * entering the set does, to evict the lowest one.
+ */
+public class HeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Long> counts;
+    // Count a new key must beat to enter a full set; zero while there is room
+    private volatile long admissionFloor;
+
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.counts = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    public void offer(String key, long estimate) {
+        if (counts.computeIfPresent(key, (k, count) -> Math.max(count, estimate)) != null
+                || estimate <= admissionFloor) {
+            return;
+        }
+
+        synchronized (this) {
+            counts.merge(key, estimate, Math::max);
+            if (counts.size() > capacity) {
+                counts.entrySet().stream()
+                        .min(Map.Entry.comparingByValue())
+                        .ifPresent(lowest -> counts.remove(lowest.getKey()));
+            }
+            admissionFloor = counts.size() < capacity ? 0 : lowestCount();
+        }
+    }
+
+    /**
+     * Up to {@code limit} keys, highest count first; ties in key order so repeated reads agree.
+     */
+    public List<String> top(int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Halves every tracked count, in step with {@link CountMinSketch#halve()}. Keys decayed to
+     * zero are dropped.
+     */
+    public synchronized void halve() {
+        counts.replaceAll((key, count) -> count >>> 1);
+        counts.values().removeIf(count -> count == 0);
+        admissionFloor = counts.size() < capacity ? 0 : lowestCount();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private long lowestCount() {
+        return counts.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+}
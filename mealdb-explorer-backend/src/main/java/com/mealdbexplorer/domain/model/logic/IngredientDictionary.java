@@ -0,0 +1,261 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Ingredient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a stable int id to every canonical ingredient name seen at ingest.
+ * Ids are never reassigned, so encodings stored on cached meals stay valid across catalog reloads.
+ * Alongside the ids it keeps the containment graph of the vocabulary, so partial matching is
+ * decided once per new ingredient instead of on every query, and a character-trigram index used
+ * to map misspelt pantry terms ("chiken", "tomatto") to their nearest canonical ingredients.
+ */
+@Component
+public class IngredientDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int[][] related = new int[64][];
+    private volatile int size;
+
+    // Trigram -> ids of the names containing it, and the number of distinct trigrams per id
+    private final Map<Long, int[]> trigramPostings = new ConcurrentHashMap<>();
+    private volatile int[] trigramCounts = new int[64];
+
+    private final double similarityCutoff;
+    private final int maxFuzzyMatches;
+
+    public IngredientDictionary(@Value("${matcher.fuzzy.similarity-cutoff:0.5}") double similarityCutoff,
+                                @Value("${matcher.fuzzy.max-matches:3}") int maxFuzzyMatches) {
+        this.similarityCutoff = similarityCutoff;
+        this.maxFuzzyMatches = maxFuzzyMatches;
+    }
+
+    public int idOf(String ingredientName) {
+        Integer id = ids.get(IngredientMatcher.normalize(ingredientName));
+        return id != null ? id : -1;
+    }
+
+    public int register(String ingredientName) {
+        String canonical = IngredientMatcher.normalize(ingredientName);
+        Integer id = ids.get(canonical);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = ids.get(canonical);
+            if (id != null) {
+                return id;
+            }
+
+            int next = size;
+            String[] currentNames = names;
+            int[][] currentRelated = related;
+            int[] currentTrigramCounts = trigramCounts;
+            if (next == currentNames.length) {
+                currentNames = Arrays.copyOf(currentNames, currentNames.length * 2);
+                currentRelated = Arrays.copyOf(currentRelated, currentRelated.length * 2);
+                currentTrigramCounts = Arrays.copyOf(currentTrigramCounts, currentTrigramCounts.length * 2);
+            }
+
+            currentNames[next] = canonical;
+            currentRelated[next] = link(canonical, next, currentNames, currentRelated);
+            long[] grams = trigrams(canonical);
+            for (long gram : grams) {
+                trigramPostings.merge(gram, new int[]{next}, IngredientDictionary::append);
+            }
+            currentTrigramCounts[next] = grams.length;
+            names = currentNames;
+            related = currentRelated;
+            trigramCounts = currentTrigramCounts;
+            size = next + 1;
+            ids.put(canonical, next);
+            return next;
+        }
+    }
+
+    // Connects a new ingredient to every existing one it contains or is contained by, in both directions
+    private static int[] link(String canonical, int id, String[] names, int[][] related) {
+        int[] neighbours = new int[8];
+        int count = 0;
+        neighbours[count++] = id;
+
+        for (int other = 0; other < id; other++) {
+            String otherName = names[other];
+            if (otherName.contains(canonical) || canonical.contains(otherName)) {
+                if (count == neighbours.length) {
+                    neighbours = Arrays.copyOf(neighbours, count * 2);
+                }
+                neighbours[count++] = other;
+
+                int[] existing = related[other];
+                int[] extended = Arrays.copyOf(existing, existing.length + 1);
+                extended[existing.length] = id;
+                related[other] = extended;
+            }
+        }
+
+        return Arrays.copyOf(neighbours, count);
+    }
+
+    /**
+     * Encodes ingredients in recipe order, keeping duplicates so counts line up with the ingredient list.
+     */
+    public int[] encode(List<Ingredient> ingredients) {
+        if (ingredients == null) {
+            return new int[0];
+        }
+
+        int[] encoded = new int[ingredients.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = register(ingredients.get(i).getName());
+        }
+        return encoded;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Resolves a normalized pantry to the bitset of dictionary ingredients it matches,
+     * using the same exact/partial rule as {@link IngredientMatcher}. Known terms are a graph
+     * lookup; only terms outside the vocabulary fall back to scanning it. A term the scan finds
+     * nothing for, typically a misspelling, matches whatever its nearest canonical ingredients by
+     * trigram similarity match; a term that already matched is never widened by similarity.
+     */
+    public long[] resolve(Collection<String> normalizedPantry) {
+        int count = size;
+        String[] snapshotNames = names;
+        int[][] snapshotRelated = related;
+        long[] bits = newBitSet(count);
+
+        for (String term : normalizedPantry) {
+            Integer id = ids.get(term);
+            if (id != null && id < count) {
+                for (int neighbour : snapshotRelated[id]) {
+                    if (neighbour < count) {
+                        bits[neighbour >>> 6] |= 1L << neighbour;
+                    }
+                }
+                continue;
+            }
+
+            boolean matched = false;
+            for (int candidate = 0; candidate < count; candidate++) {
+                String name = snapshotNames[candidate];
+                if (term.contains(name) || name.contains(term)) {
+                    bits[candidate >>> 6] |= 1L << candidate;
+                    matched = true;
+                }
+            }
+            if (matched) {
+                continue;
+            }
+
+            for (int nearest : nearest(term, count)) {
+                for (int neighbour : snapshotRelated[nearest]) {
+                    if (neighbour < count) {
+                        bits[neighbour >>> 6] |= 1L << neighbour;
+                    }
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Up to {@code matcher.fuzzy.max-matches} ingredient ids whose trigram (Jaccard) similarity to
+     * {@code term} reaches {@code matcher.fuzzy.similarity-cutoff}, most similar first. Only names
+     * sharing at least one trigram with the term are ever looked at.
+     */
+    int[] nearest(String term, int count) {
+        long[] grams = trigrams(term);
+        if (grams.length == 0 || maxFuzzyMatches <= 0) {
+            return new int[0];
+        }
+
+        int[] shared = new int[count];
+        int[] touched = new int[count];
+        int touchedCount = 0;
+        for (long gram : grams) {
+            int[] postings = trigramPostings.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            for (int id : postings) {
+                if (id < count && shared[id]++ == 0) {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        int[] snapshotCounts = trigramCounts;
+        int[] best = new int[maxFuzzyMatches];
+        double[] bestScores = new double[maxFuzzyMatches];
+        int bestCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            double similarity = (double) shared[id] / (grams.length + snapshotCounts[id] - shared[id]);
+            if (similarity < similarityCutoff) {
+                continue;
+            }
+
+            // Insertion into a tiny sorted array; maxFuzzyMatches is a handful
+            int slot = Math.min(bestCount, maxFuzzyMatches - 1);
+            if (bestCount == maxFuzzyMatches && similarity <= bestScores[slot]) {
+                continue;
+            }
+            while (slot > 0 && bestScores[slot - 1] < similarity) {
+                best[slot] = best[slot - 1];
+                bestScores[slot] = bestScores[slot - 1];
+                slot--;
+            }
+            best[slot] = id;
+            bestScores[slot] = similarity;
+            bestCount = Math.min(bestCount + 1, maxFuzzyMatches);
+        }
+        return Arrays.copyOf(best, bestCount);
+    }
+
+    // Distinct trigrams of "  term ", packed three UTF-16 chars to a long; padding anchors word starts and ends
+    static long[] trigrams(String term) {
+        if (term.isEmpty()) {
+            return new long[0];
+        }
+
+        String padded = "  " + term + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static int[] append(int[] postings, int[] added) {
+        int[] extended = Arrays.copyOf(postings, postings.length + added.length);
+        System.arraycopy(added, 0, extended, postings.length, added.length);
+        return extended;
+    }
+
+    public static long[] newBitSet(int capacity) {
+        return new long[(capacity + 63) >>> 6];
+    }
+
+    public static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+}
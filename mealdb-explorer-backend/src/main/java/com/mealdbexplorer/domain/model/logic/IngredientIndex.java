@@ -0,0 +1,88 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Meal;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Inverted index from ingredient id to the positions of the meals using it, so scoring a pantry
+ * only touches the meals that share at least one ingredient with it.
+ */
+public class IngredientIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<Meal> meals;
+    private final int[][] postings;
+
+    private IngredientIndex(List<Meal> meals, int[][] postings) {
+        this.meals = meals;
+        this.postings = postings;
+    }
+
+    public static IngredientIndex build(List<Meal> meals, IngredientDictionary dictionary) {
+        // Meals mapped before the dictionary existed (or built by hand) are encoded here
+        for (Meal meal : meals) {
+            if (meal != null && meal.getIngredientIds() == null) {
+                meal.setIngredientIds(dictionary.encode(meal.getIngredients()));
+            }
+        }
+
+        int vocabularySize = dictionary.size();
+        int[] sizes = new int[vocabularySize];
+        for (Meal meal : meals) {
+            if (meal != null) {
+                for (int id : meal.getIngredientIds()) {
+                    sizes[id]++;
+                }
+            }
+        }
+
+        int[][] postings = new int[vocabularySize][];
+        for (int id = 0; id < vocabularySize; id++) {
+            postings[id] = sizes[id] > 0 ? new int[sizes[id]] : EMPTY;
+        }
+
+        // One entry per occurrence so that duplicate ingredients count like they do in IngredientMatcher
+        Arrays.fill(sizes, 0);
+        for (int position = 0; position < meals.size(); position++) {
+            Meal meal = meals.get(position);
+            if (meal != null) {
+                for (int id : meal.getIngredientIds()) {
+                    postings[id][sizes[id]++] = position;
+                }
+            }
+        }
+
+        return new IngredientIndex(meals, postings);
+    }
+
+    public List<Meal> getMeals() {
+        return meals;
+    }
+
+    /**
+     * Counts, per meal position, how many of the meal's ingredients are in the pantry bitset.
+     */
+    public int[] countMatchedIngredients(long[] pantryBits) {
+        int[] counts = new int[meals.size()];
+
+        for (int word = 0; word < pantryBits.length; word++) {
+            long bits = pantryBits[word];
+            while (bits != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (id >= postings.length) {
+                    return counts;
+                }
+
+                for (int position : postings[id]) {
+                    counts[position]++;
+                }
+            }
+        }
+
+        return counts;
+    }
+}
@@ -6,7 +6,9 @@ import com.mealdbexplorer.domain.model.Meal;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,10 +20,7 @@ public class IngredientMatcher {
             return createEmptyMatch(meal);
         }
 
-        Set<String> normalizedUserIngredients = userIngredients.stream()
-                .map(String::toLowerCase)
-                .map(String::trim)
-                .collect(Collectors.toSet());
+        Set<String> normalizedUserIngredients = normalizePantry(userIngredients);
 
         List<Ingredient> mealIngredients = meal.getIngredients();
         if (mealIngredients == null || mealIngredients.isEmpty()) {
@@ -32,9 +31,9 @@ public class IngredientMatcher {
         List<String> missingIngredients = new ArrayList<>();
 
         for (Ingredient mealIngredient : mealIngredients) {
-            String mealIngName = mealIngredient.getName().toLowerCase().trim();
+            String mealIngName = normalize(mealIngredient.getName());
 
-            if (isIngredientMatched(mealIngName, normalizedUserIngredients)) {
+            if (matchesAny(mealIngName, normalizedUserIngredients)) {
                 matchedIngredients.add(mealIngredient.getName());
             } else {
                 missingIngredients.add(mealIngredient.getName());
@@ -43,13 +42,10 @@ public class IngredientMatcher {
 
         int matchedCount = matchedIngredients.size();
         int totalCount = mealIngredients.size();
-        double matchPercentage = totalCount > 0
-                ? (double) matchedCount / totalCount * 100.0
-                : 0.0;
 
         return MatchResult.builder()
                 .meal(meal)
-                .matchPercentage(Math.round(matchPercentage * 100.0) / 100.0) // Round to 2 decimals
+                .matchPercentage(percentage(matchedCount, totalCount))
                 .matchedIngredientsCount(matchedCount)
                 .totalIngredientsCount(totalCount)
                 .matchedIngredients(matchedIngredients)
@@ -57,7 +53,58 @@ public class IngredientMatcher {
                 .build();
     }
 
-    private boolean isIngredientMatched(String mealIngredient, Set<String> userIngredients) {
+    /**
+     * Builds the full result for a meal that already passed the threshold, reusing the encoded ingredient ids.
+     */
+    public MatchResult calculateMatch(Meal meal, long[] pantryBits) {
+        List<Ingredient> mealIngredients = meal.getIngredients();
+        int[] ingredientIds = meal.getIngredientIds();
+        if (mealIngredients == null || mealIngredients.isEmpty() || ingredientIds == null) {
+            return createEmptyMatch(meal);
+        }
+
+        List<String> matchedIngredients = new ArrayList<>();
+        List<String> missingIngredients = new ArrayList<>();
+
+        for (int i = 0; i < ingredientIds.length; i++) {
+            String name = mealIngredients.get(i).getName();
+            if (IngredientDictionary.contains(pantryBits, ingredientIds[i])) {
+                matchedIngredients.add(name);
+            } else {
+                missingIngredients.add(name);
+            }
+        }
+
+        return MatchResult.builder()
+                .meal(meal)
+                .matchPercentage(percentage(matchedIngredients.size(), ingredientIds.length))
+                .matchedIngredientsCount(matchedIngredients.size())
+                .totalIngredientsCount(ingredientIds.length)
+                .matchedIngredients(matchedIngredients)
+                .missingIngredients(missingIngredients)
+                .build();
+    }
+
+    public static String normalize(String ingredientName) {
+        return ingredientName != null ? ingredientName.toLowerCase().trim() : "";
+    }
+
+    public static Set<String> normalizePantry(List<String> userIngredients) {
+        return userIngredients.stream()
+                .filter(Objects::nonNull)
+                .map(IngredientMatcher::normalize)
+                .collect(Collectors.toSet());
+    }
+
+    public static double percentage(int matchedCount, int totalCount) {
+        double matchPercentage = totalCount > 0
+                ? (double) matchedCount / totalCount * 100.0
+                : 0.0;
+
+        return Math.round(matchPercentage * 100.0) / 100.0; // Round to 2 decimals
+    }
+
+    static boolean matchesAny(String mealIngredient, Collection<String> userIngredients) {
         // Exact match
         if (userIngredients.contains(mealIngredient)) {
             return true;
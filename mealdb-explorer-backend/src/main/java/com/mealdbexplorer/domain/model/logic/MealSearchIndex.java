@@ -0,0 +1,170 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Meal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over the words of meal names, tags, categories and areas. Terms are kept sorted,
+ * so every term starting with a typed prefix is one contiguous range found by binary search.
+ * Queries without a single letter or digit, such as "" or "&", match nothing instead of everything.
+ */
+public class MealSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field weights; a posting keeps the heaviest field the term appears in for that meal
+    private static final int NAME = 8;
+    private static final int TAG = 4;
+    private static final int CATEGORY = 3;
+    private static final int AREA = 3;
+
+    private static final int EXACT_NAME_BONUS = 100;
+    private static final int NAME_PREFIX_BONUS = 20;
+
+    private final List<Meal> meals;
+    private final String[] names;
+    private final String[] terms;
+    // Per term: meal position << 4 | field weight
+    private final int[][] postings;
+
+    private MealSearchIndex(List<Meal> meals, String[] names, String[] terms, int[][] postings) {
+        this.meals = meals;
+        this.names = names;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public static MealSearchIndex build(List<Meal> meals) {
+        String[] names = new String[meals.size()];
+        Map<String, Map<Integer, Integer>> weights = new TreeMap<>();
+
+        for (int position = 0; position < meals.size(); position++) {
+            Meal meal = meals.get(position);
+            names[position] = normalize(meal.getName());
+            addTerms(weights, position, meal.getName(), NAME);
+            addTerms(weights, position, meal.getCategory(), CATEGORY);
+            addTerms(weights, position, meal.getArea(), AREA);
+            if (meal.getTags() != null) {
+                for (String tag : meal.getTags()) {
+                    addTerms(weights, position, tag, TAG);
+                }
+            }
+        }
+
+        String[] terms = weights.keySet().toArray(new String[0]);
+        int[][] postings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            Map<Integer, Integer> byMeal = weights.get(terms[i]);
+            int[] entries = new int[byMeal.size()];
+            int next = 0;
+            for (Map.Entry<Integer, Integer> entry : byMeal.entrySet()) {
+                entries[next++] = entry.getKey() << 4 | entry.getValue();
+            }
+            postings[i] = entries;
+        }
+        return new MealSearchIndex(meals, names, terms, postings);
+    }
+
+    private static void addTerms(Map<String, Map<Integer, Integer>> weights, int position, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.computeIfAbsent(term, key -> new HashMap<>()).merge(position, weight, Math::max);
+        }
+    }
+
+    /**
+     * Ranks the meals matching every word of {@code query}, each word as a prefix so the last one can
+     * still be half typed. Exact words outrank prefixes, names outrank tags, categories and areas,
+     * and a name equal to or starting with the whole query comes first. When no word matches, falls
+     * back to a substring match on names, which is what the upstream search does.
+     */
+    public List<Meal> search(String query, int limit) {
+        String normalized = normalize(query);
+        List<String> words = tokenize(normalized);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] scores = new int[meals.size()];
+        int[] matchedWords = new int[meals.size()];
+        int[] wordScores = new int[meals.size()];
+
+        for (String word : words) {
+            Arrays.fill(wordScores, 0);
+            for (int term = lowerBound(word); term < terms.length && terms[term].startsWith(word); term++) {
+                int multiplier = terms[term].length() == word.length() ? 2 : 1;
+                for (int entry : postings[term]) {
+                    int position = entry >>> 4;
+                    wordScores[position] = Math.max(wordScores[position], (entry & 0xF) * multiplier);
+                }
+            }
+            for (int position = 0; position < wordScores.length; position++) {
+                if (wordScores[position] > 0) {
+                    scores[position] += wordScores[position];
+                    matchedWords[position]++;
+                }
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int position = 0; position < scores.length; position++) {
+            if (matchedWords[position] == words.size()) {
+                if (names[position].equals(normalized)) {
+                    scores[position] += EXACT_NAME_BONUS;
+                } else if (names[position].startsWith(normalized)) {
+                    scores[position] += NAME_PREFIX_BONUS;
+                }
+                hits.add(position);
+            }
+        }
+
+        if (hits.isEmpty()) {
+            for (int position = 0; position < names.length; position++) {
+                if (names[position].contains(normalized)) {
+                    hits.add(position);
+                }
+            }
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingInt((Integer position) -> -scores[position])
+                        .thenComparing(position -> names[position]))
+                .limit(limit)
+                .map(meals::get)
+                .toList();
+    }
+
+    private int lowerBound(String word) {
+        int index = Arrays.binarySearch(terms, word);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Whether {@code query} has at least one word to search for.
+     */
+    public static boolean isSearchable(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(normalize(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mealdbexplorer.exception;
+
+/**
+ * A query parameter outside its allowed values; answered with 400 like a failed body validation.
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidRequestParameterException(String parameter, String message) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
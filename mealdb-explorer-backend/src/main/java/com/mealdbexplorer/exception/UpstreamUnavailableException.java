@@ -0,0 +1,11 @@
+package com.mealdbexplorer.exception;
+
+/**
+ * Thrown without calling TheMealDB when its circuit is open or its bulkhead is full.
+ */
+public class UpstreamUnavailableException extends ExternalApiException {
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
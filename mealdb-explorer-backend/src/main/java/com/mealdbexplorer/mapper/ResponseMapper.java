@@ -5,9 +5,13 @@ import com.mealdbexplorer.domain.model.Category;
 import com.mealdbexplorer.domain.model.Ingredient;
 import com.mealdbexplorer.domain.model.MatchResult;
 import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.MealSummary;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -41,6 +45,61 @@ public class ResponseMapper {
                 .collect(Collectors.toList());
     }
 
+    public List<MealSummaryResponse> toMealSummaryResponseList(List<MealSummary> summaries) {
+        if (summaries == null) {
+            return List.of();
+        }
+
+        return summaries.stream()
+                .map(summary -> MealSummaryResponse.builder()
+                        .id(summary.getId())
+                        .name(summary.getName())
+                        .category(summary.getCategory())
+                        .area(summary.getArea())
+                        .thumbnailUrl(summary.getThumbnailUrl())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Properties of {@link MealResponse} that a projection may select.
+     */
+    public static final Set<String> MEAL_FIELDS = Set.of(
+            "id", "name", "category", "area", "instructions", "thumbnailUrl", "youtubeUrl", "ingredients", "tags");
+
+    /**
+     * Keeps only the named {@link MealResponse} properties of each meal, in the order given; names
+     * must come from {@link #MEAL_FIELDS}. Ingredients are only mapped when asked for.
+     */
+    public List<Map<String, Object>> toMealProjectionList(List<Meal> meals, List<String> fields) {
+        if (meals == null) {
+            return List.of();
+        }
+
+        return meals.stream()
+                .map(meal -> toMealProjection(meal, fields))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> toMealProjection(Meal meal, List<String> fields) {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> projection.put(field, meal.getId());
+                case "name" -> projection.put(field, meal.getName());
+                case "category" -> projection.put(field, meal.getCategory());
+                case "area" -> projection.put(field, meal.getArea());
+                case "instructions" -> projection.put(field, meal.getInstructions());
+                case "thumbnailUrl" -> projection.put(field, meal.getThumbnailUrl());
+                case "youtubeUrl" -> projection.put(field, meal.getYoutubeUrl());
+                case "ingredients" -> projection.put(field, toIngredientDtos(meal.getIngredients()));
+                case "tags" -> projection.put(field, meal.getTags());
+                default -> throw new IllegalArgumentException("Unknown meal field: " + field);
+            }
+        }
+        return projection;
+    }
+
     public CategoryResponse toCategoryResponse(Category category) {
         if (category == null) {
             return null;
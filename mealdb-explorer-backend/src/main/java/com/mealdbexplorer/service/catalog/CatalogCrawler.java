@@ -0,0 +1,104 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.adapter.themealdb.TheMealDbClient;
+import com.mealdbexplorer.adapter.themealdb.UpstreamPriority;
+import com.mealdbexplorer.adapter.themealdb.dto.CategoryDbResponse;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.mapper.CategoryMapper;
+import com.mealdbexplorer.service.meal.MealHydrator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Crawls the full catalog from TheMealDB: per-letter searches for full meal details,
+ * then per-category filters to pick up any meal the letter index missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCrawler {
+
+    private static final List<String> LETTERS = IntStream.rangeClosed('a', 'z')
+            .mapToObj(letter -> String.valueOf((char) letter))
+            .toList();
+
+    private final TheMealDbClient mealDbClient;
+    private final CategoryMapper categoryMapper;
+    private final MealHydrator mealHydrator;
+
+    public CrawlResult crawl() {
+        return UpstreamPriority.BACKGROUND.run(this::crawlAll);
+    }
+
+    private CrawlResult crawlAll() {
+        long start = System.nanoTime();
+
+        List<Category> categories = fetchCategories();
+
+        List<List<Meal>> letterPages = mealHydrator.hydrate(LETTERS, mealDbClient::searchMealsByFirstLetter);
+
+        Map<String, Meal> meals = new LinkedHashMap<>();
+        letterPages.stream()
+                .flatMap(List::stream)
+                .forEach(meal -> meals.putIfAbsent(meal.getId(), meal));
+
+        List<String> categoryNames = categories.stream().map(Category::getName).toList();
+        List<List<Meal>> categoryPages = mealHydrator.hydrate(categoryNames, mealDbClient::getMealsByCategory);
+
+        List<String> missingIds = categoryPages.stream()
+                .flatMap(List::stream)
+                .map(Meal::getId)
+                .filter(id -> !meals.containsKey(id))
+                .distinct()
+                .toList();
+        List<Meal> missingMeals = List.of();
+        if (!missingIds.isEmpty()) {
+            log.info("Fetching {} meals only reachable through category filters", missingIds.size());
+            missingMeals = mealHydrator.hydrate(missingIds, id -> mealDbClient.getMealById(id).stream()
+                    .findFirst()
+                    .orElse(null));
+            missingMeals.forEach(meal -> meals.putIfAbsent(meal.getId(), meal));
+        }
+
+        // A failed page or lookup means meals may be missing for reasons other than having been removed upstream
+        boolean complete = letterPages.size() == LETTERS.size()
+                && categoryPages.size() == categoryNames.size()
+                && missingMeals.size() == missingIds.size()
+                && !categories.isEmpty();
+
+        log.info("Crawled {} meals and {} categories in {} ms (complete: {})",
+                meals.size(), categories.size(), (System.nanoTime() - start) / 1_000_000, complete);
+
+        return new CrawlResult(List.copyOf(meals.values()), categories, complete);
+    }
+
+    private List<Category> fetchCategories() {
+        try {
+            CategoryDbResponse response = mealDbClient.getAllCategories();
+            if (response == null || response.getCategories() == null) {
+                return List.of();
+            }
+            return categoryMapper.toDomainList(response.getCategories());
+        } catch (Exception e) {
+            log.warn("Failed to fetch categories during crawl", e);
+            return List.of();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class CrawlResult {
+        private List<Meal> meals;
+        private List<Category> categories;
+        private boolean complete;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mealdbexplorer.service.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically re-crawls TheMealDB and publishes a new catalog version in the background.
+ * Disable with {@code catalog.refresh.enabled=false} to run purely from the snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "catalog.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogRefresher {
+
+    private final CatalogService catalogService;
+
+    @Scheduled(initialDelayString = "${catalog.refresh.initial-delay-ms:0}",
+            fixedDelayString = "${catalog.refresh.interval-ms:3600000}")
+    public void refresh() {
+        try {
+            catalogService.refresh();
+        } catch (Exception e) {
+            log.error("Scheduled catalog refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current catalog version. Starts from the on-disk snapshot when there is one;
+ * afterwards new versions are only published by {@link CatalogRefresher}, off the request path.
+ */
+@Slf4j
+@Service
+public class CatalogService {
+
+    private final CatalogCrawler catalogCrawler;
+    private final IngredientDictionary ingredientDictionary;
+    private final CatalogSnapshotStore snapshotStore;
+    private final boolean snapshotEnabled;
+    private final long coldStartWaitMs;
+    private final ExecutorService coldStartExecutor;
+    // The first crawl while no catalog is loaded; callers share it instead of each crawling
+    private final AtomicReference<CompletableFuture<Catalog>> coldStart = new AtomicReference<>();
+
+    private volatile Catalog catalog;
+
+    public CatalogService(CatalogCrawler catalogCrawler,
+                          IngredientDictionary ingredientDictionary,
+                          CatalogSnapshotStore snapshotStore,
+                          @Value("${catalog.snapshot.enabled:true}") boolean snapshotEnabled,
+                          @Value("${catalog.cold-start-wait-ms:10000}") long coldStartWaitMs) {
+        this.catalogCrawler = catalogCrawler;
+        this.ingredientDictionary = ingredientDictionary;
+        this.snapshotStore = snapshotStore;
+        this.snapshotEnabled = snapshotEnabled;
+        this.coldStartWaitMs = coldStartWaitMs;
+        this.coldStartExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-cold-start");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs before the scheduler starts, so the first crawl already diffs against the snapshot
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+
+        snapshotStore.read().ifPresent(snapshot -> {
+            log.info("Loaded catalog snapshot v{} with {} meals from {}",
+                    snapshot.getVersion(), snapshot.size(), snapshot.getLoadedAt());
+            catalog = snapshot;
+        });
+    }
+
+    /**
+     * Returns the current catalog; reloads never happen here. On a cold start without snapshot the
+     * first crawl runs in the background, and callers wait for it at most
+     * {@code catalog.cold-start-wait-ms} before failing with {@link UpstreamUnavailableException}.
+     */
+    public Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+
+        try {
+            return startColdStart().get(coldStartWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UpstreamUnavailableException("The meal catalog is still loading", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Initial catalog load failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for the meal catalog", e);
+        }
+    }
+
+    private CompletableFuture<Catalog> startColdStart() {
+        CompletableFuture<Catalog> running = coldStart.get();
+        if (running != null) {
+            return running;
+        }
+
+        CompletableFuture<Catalog> created = new CompletableFuture<>();
+        if (!coldStart.compareAndSet(null, created)) {
+            return coldStart.get();
+        }
+        coldStartExecutor.execute(() -> {
+            try {
+                created.complete(loadFirst());
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+            } finally {
+                // Loaded or failed: a later cold caller finds the catalog or starts over
+                coldStart.compareAndSet(created, null);
+            }
+        });
+        return created;
+    }
+
+    // A scheduled refresh may have published while this waited for the lock
+    private synchronized Catalog loadFirst() {
+        Catalog current = catalog;
+        return current != null ? current : refresh();
+    }
+
+    public Optional<Catalog> getLoadedCatalog() {
+        return Optional.ofNullable(catalog);
+    }
+
+    /**
+     * Crawls the upstream, diffs the result against the current version and publishes a new version
+     * if anything changed. Unchanged meals keep their existing instances, so their ingredient ids
+     * are reused instead of being encoded again.
+     */
+    public synchronized Catalog refresh() {
+        CatalogCrawler.CrawlResult crawl = catalogCrawler.crawl();
+        Catalog current = catalog;
+
+        if (crawl.getMeals().isEmpty()) {
+            // Never replace a usable catalog (or its snapshot) with the result of a failed crawl.
+            // With nothing loaded yet, an empty v0 stops every request from re-crawling until the next refresh.
+            log.warn("Catalog crawl returned no meals, keeping {}",
+                    current != null ? "v" + current.getVersion() : "an empty catalog");
+            if (current == null) {
+                current = new Catalog(0, Instant.now(), List.of(), List.of(), ingredientDictionary);
+                catalog = current;
+            }
+            return current;
+        }
+
+        if (current == null) {
+            return publish(1, crawl.getMeals(), crawl.getCategories());
+        }
+
+        Map<String, Meal> previous = current.getMealsById();
+        List<Meal> meals = new ArrayList<>(crawl.getMeals().size());
+        Set<String> seen = new HashSet<>();
+        int added = 0;
+        int changed = 0;
+
+        for (Meal meal : crawl.getMeals()) {
+            seen.add(meal.getId());
+            Meal existing = previous.get(meal.getId());
+            if (existing == null) {
+                added++;
+                meals.add(meal);
+            } else if (existing.equals(meal)) {
+                meals.add(existing);
+            } else {
+                changed++;
+                meals.add(meal);
+            }
+        }
+
+        int removed = 0;
+        for (Meal meal : current.getMeals()) {
+            if (!seen.contains(meal.getId())) {
+                if (crawl.isComplete()) {
+                    removed++;
+                } else {
+                    // Partial crawl: a missing meal is more likely a failed page than an upstream deletion
+                    meals.add(meal);
+                }
+            }
+        }
+
+        List<Category> categories = crawl.getCategories().isEmpty()
+                ? current.getCategories()
+                : crawl.getCategories();
+
+        if (added == 0 && changed == 0 && removed == 0 && categories.equals(current.getCategories())) {
+            log.info("Catalog unchanged, keeping v{}", current.getVersion());
+            return current;
+        }
+
+        log.info("Catalog diff: {} added, {} changed, {} removed", added, changed, removed);
+        return publish(current.getVersion() + 1, meals, categories);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coldStartExecutor.shutdownNow();
+    }
+
+    private Catalog publish(long version, List<Meal> meals, List<Category> categories) {
+        Catalog next = new Catalog(version, Instant.now(), meals, categories, ingredientDictionary, catalog);
+        catalog = next;
+        log.info("Published catalog v{} with {} meals and {} categories", version, next.size(), categories.size());
+
+        if (snapshotEnabled) {
+            snapshotStore.write(next);
+        }
+        return next;
+    }
+}
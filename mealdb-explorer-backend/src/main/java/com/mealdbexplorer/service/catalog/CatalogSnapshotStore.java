@@ -0,0 +1,287 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Binary on-disk copy of the catalog so a fresh instance can serve matches before the first upstream crawl.
+ * <p>
+ * Layout: magic, format version, catalog version, load time, payload length and a CRC32 over the rest of
+ * the file, then the payload (ingredient vocabulary, categories, meals with their ingredient ids). The
+ * ingredient postings are rebuilt from the stored ids in one linear pass, which is cheaper than storing
+ * and remapping them.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    private static final int MAGIC = 0x4D444243; // "MDBC"
+    // 2: the CRC also covers the header
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 8;
+
+    private final IngredientDictionary ingredientDictionary;
+    private final Path path;
+
+    public CatalogSnapshotStore(IngredientDictionary ingredientDictionary,
+                                @Value("${catalog.snapshot.path:data/catalog.snapshot}") Path path) {
+        this.ingredientDictionary = ingredientDictionary;
+        this.path = path;
+    }
+
+    public void write(Catalog catalog) {
+        Path temp = null;
+        try {
+            byte[] payload = encodePayload(catalog);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(catalog.getVersion())
+                    .putLong(catalog.getLoadedAt().toEpochMilli())
+                    .putInt(payload.length);
+            header.putLong(checksum(header.duplicate().flip(), ByteBuffer.wrap(payload))).flip();
+
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, "catalog", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                // A gathering write may stop short, e.g. on a full disk or when interrupted
+                ByteBuffer[] buffers = {header, ByteBuffer.wrap(payload)};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            // Readers only ever see a complete snapshot
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Wrote catalog snapshot v{} ({} meals, {} bytes) to {}",
+                    catalog.getVersion(), catalog.size(), HEADER_BYTES + payload.length, path);
+        } catch (IOException e) {
+            log.warn("Failed to write catalog snapshot to {}", path, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // Gone after a successful move; otherwise a partial file nobody would ever clean up
+    private void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary snapshot {}", temp, e);
+        }
+    }
+
+    public Optional<Catalog> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                log.warn("Ignoring catalog snapshot {}: not a snapshot file", path);
+                return Optional.empty();
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                log.warn("Ignoring catalog snapshot {}: format version {} is not supported", path, formatVersion);
+                return Optional.empty();
+            }
+
+            long version = buffer.getLong();
+            Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+            int payloadLength = buffer.getInt();
+            ByteBuffer checkedHeader = buffer.duplicate().flip();
+            long checksum = buffer.getLong();
+
+            if (buffer.remaining() != payloadLength) {
+                log.warn("Ignoring catalog snapshot {}: truncated payload", path);
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = buffer.slice();
+            if (checksum(checkedHeader, payload.duplicate()) != checksum) {
+                log.warn("Ignoring catalog snapshot {}: checksum mismatch", path);
+                return Optional.empty();
+            }
+
+            return Optional.of(decodePayload(payload, version, loadedAt));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read catalog snapshot from {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    // CRC32 over the header fields before the checksum and the payload
+    private static long checksum(ByteBuffer header, ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(header);
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private byte[] encodePayload(Catalog catalog) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(catalog.size() * 2048);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        // Vocabulary local to the snapshot; dictionary ids of this process are not stable across restarts
+        Map<Integer, Integer> localIds = new HashMap<>();
+        List<String> vocabulary = new ArrayList<>();
+        for (Meal meal : catalog.getMeals()) {
+            for (int id : meal.getIngredientIds()) {
+                localIds.computeIfAbsent(id, key -> {
+                    vocabulary.add(ingredientDictionary.nameOf(key));
+                    return vocabulary.size() - 1;
+                });
+            }
+        }
+
+        out.writeInt(vocabulary.size());
+        for (String name : vocabulary) {
+            writeString(out, name);
+        }
+
+        out.writeInt(catalog.getCategories().size());
+        for (Category category : catalog.getCategories()) {
+            writeString(out, category.getId());
+            writeString(out, category.getName());
+            writeString(out, category.getThumbnailUrl());
+            writeString(out, category.getDescription());
+        }
+
+        out.writeInt(catalog.size());
+        for (Meal meal : catalog.getMeals()) {
+            writeString(out, meal.getId());
+            writeString(out, meal.getName());
+            writeString(out, meal.getCategory());
+            writeString(out, meal.getArea());
+            writeString(out, meal.getInstructions());
+            writeString(out, meal.getThumbnailUrl());
+            writeString(out, meal.getYoutubeUrl());
+
+            List<Ingredient> ingredients = meal.getIngredients();
+            int[] ingredientIds = meal.getIngredientIds();
+            out.writeInt(ingredientIds.length);
+            for (int i = 0; i < ingredientIds.length; i++) {
+                out.writeInt(localIds.get(ingredientIds[i]));
+                writeString(out, ingredients.get(i).getName());
+                writeString(out, ingredients.get(i).getMeasure());
+            }
+
+            List<String> tags = meal.getTags() != null ? meal.getTags() : List.of();
+            out.writeInt(tags.size());
+            for (String tag : tags) {
+                writeString(out, tag);
+            }
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private Catalog decodePayload(ByteBuffer in, long version, Instant loadedAt) {
+        int[] dictionaryIds = new int[in.getInt()];
+        for (int i = 0; i < dictionaryIds.length; i++) {
+            dictionaryIds[i] = ingredientDictionary.register(readString(in));
+        }
+
+        int categoryCount = in.getInt();
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(Category.builder()
+                    .id(readString(in))
+                    .name(readString(in))
+                    .thumbnailUrl(readString(in))
+                    .description(readString(in))
+                    .build());
+        }
+
+        int mealCount = in.getInt();
+        List<Meal> meals = new ArrayList<>(mealCount);
+        for (int i = 0; i < mealCount; i++) {
+            Meal.MealBuilder meal = Meal.builder()
+                    .id(readString(in))
+                    .name(readString(in))
+                    .category(readString(in))
+                    .area(readString(in))
+                    .instructions(readString(in))
+                    .thumbnailUrl(readString(in))
+                    .youtubeUrl(readString(in));
+
+            int ingredientCount = in.getInt();
+            int[] ingredientIds = new int[ingredientCount];
+            List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+            for (int j = 0; j < ingredientCount; j++) {
+                ingredientIds[j] = dictionaryIds[in.getInt()];
+                ingredients.add(Ingredient.builder()
+                        .name(readString(in))
+                        .measure(readString(in))
+                        .build());
+            }
+
+            int tagCount = in.getInt();
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int j = 0; j < tagCount; j++) {
+                tags.add(readString(in));
+            }
+
+            meals.add(meal.ingredients(ingredients)
+                    .ingredientIds(ingredientIds)
+                    .tags(tags)
+                    .build());
+        }
+
+        return new Catalog(version, loadedAt, meals, categories, ingredientDictionary);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] encoded = new byte[length];
+        in.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
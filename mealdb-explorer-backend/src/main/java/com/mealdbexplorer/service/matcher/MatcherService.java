@@ -1,66 +1,291 @@
 package com.mealdbexplorer.service.matcher;
 
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.domain.model.logic.IngredientIndex;
 import com.mealdbexplorer.domain.model.logic.IngredientMatcher;
+import com.mealdbexplorer.domain.model.MatchQuery;
 import com.mealdbexplorer.domain.model.MatchResult;
 import com.mealdbexplorer.domain.model.Meal;
-import com.mealdbexplorer.service.meal.MealService;
-import lombok.RequiredArgsConstructor;
+import com.mealdbexplorer.exception.InvalidRequestParameterException;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MatcherService {
 
-    private final MealService mealService;
+    private final CatalogService catalogService;
     private final IngredientMatcher ingredientMatcher;
+    private final IngredientDictionary ingredientDictionary;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int streamMaxLimit;
+    private final int batchMaxResults;
+    private final Timer matchTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary candidateCounts;
+    private final DistributionSummary resultCounts;
 
     private static final double MIN_MATCH_THRESHOLD = 30.0;
 
+    // Worst candidate first, so the head of a bounded heap is the one to evict
+    private static final Comparator<Candidate> WORST_FIRST = Comparator
+            .comparingDouble(Candidate::getPercentage)
+            .thenComparingInt(Candidate::getMatchedCount)
+            .thenComparing(Comparator.comparingInt(Candidate::getPosition).reversed());
+
+    public MatcherService(CatalogService catalogService,
+                          IngredientMatcher ingredientMatcher,
+                          IngredientDictionary ingredientDictionary,
+                          @Value("${matcher.default-limit:100}") int defaultLimit,
+                          @Value("${matcher.max-limit:500}") int maxLimit,
+                          @Value("${matcher.stream-max-limit:10000}") int streamMaxLimit,
+                          @Value("${matcher.batch.max-results:5000}") int batchMaxResults,
+                          MeterRegistry meterRegistry) {
+        this.catalogService = catalogService;
+        this.ingredientMatcher = ingredientMatcher;
+        this.ingredientDictionary = ingredientDictionary;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.streamMaxLimit = streamMaxLimit;
+        this.batchMaxResults = batchMaxResults;
+        this.matchTimer = Timer.builder("matcher.executions")
+                .description("What-can-i-cook pantry resolution and ranking")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("matcher.batch.executions")
+                .description("Batch what-can-i-cook evaluation, all requests of one call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.candidateCounts = DistributionSummary.builder("matcher.candidates")
+                .description("Meals scored per match, i.e. sharing at least one ingredient with the pantry")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resultCounts = DistributionSummary.builder("matcher.results")
+                .description("Meals meeting the threshold per match, before paging")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public List<MatchResult> findMatchingMeals(List<String> userIngredients) {
-        log.info("Finding matching meals for {} ingredients", userIngredients.size());
+        return findMatchingMeals(userIngredients, null, null, null);
+    }
+
+    public List<MatchResult> findMatchingMealsWithCustomThreshold(
+            List<String> userIngredients,
+            double minMatchPercentage) {
+        return findMatchingMeals(userIngredients, minMatchPercentage, null, null);
+    }
+
+    /**
+     * Returns one page of matches, best first. Only the top {@code offset + limit} candidates are
+     * kept while scanning, and full results are built for the requested page only.
+     */
+    public List<MatchResult> findMatchingMeals(List<String> userIngredients,
+                                               Double minMatchPercentage,
+                                               Integer offset,
+                                               Integer limit) {
+        return match(userIngredients, minMatchPercentage, offset, limit, maxLimit).toList();
+    }
+
+    /**
+     * Streaming variant of {@link #findMatchingMeals(List, Double, Integer, Integer)} for large pages.
+     * Ranking happens before this returns; each {@link MatchResult} is only built when the stream
+     * reaches it, so a caller writing rows out as it goes never holds the whole page.
+     */
+    public Stream<MatchResult> streamMatchingMeals(List<String> userIngredients,
+                                                   Double minMatchPercentage,
+                                                   Integer offset,
+                                                   Integer limit) {
+        return match(userIngredients, minMatchPercentage, offset, limit, streamMaxLimit);
+    }
+
+    /**
+     * Evaluates many what-can-i-cook requests against one catalog version. Each distinct pantry is
+     * normalized, resolved and scanned over the index once; every request then ranks those shared
+     * counts with its own threshold and page. The pages together may hold at most
+     * {@code matcher.batch.max-results} results; a larger batch is rejected before any matching.
+     */
+    public List<List<MatchResult>> findMatchingMealsBatch(List<MatchQuery> queries) {
+        long requestedResults = 0;
+        for (MatchQuery query : queries) {
+            if (query.getIngredients() != null && !query.getIngredients().isEmpty()) {
+                requestedResults += limit(query.getLimit(), maxLimit);
+            }
+        }
+        if (requestedResults > batchMaxResults) {
+            throw new InvalidRequestParameterException("requests", "A batch can return at most " + batchMaxResults
+                    + " results, but its limits add up to " + requestedResults);
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            Catalog catalog = catalogService.getCatalog();
+            IngredientIndex index = catalog.getIngredientIndex();
+            Map<Set<String>, PantryScan> scans = new HashMap<>();
+            List<List<MatchResult>> results = new ArrayList<>(queries.size());
+
+            for (MatchQuery query : queries) {
+                if (query.getIngredients() == null || query.getIngredients().isEmpty()) {
+                    results.add(List.of());
+                    continue;
+                }
+
+                PantryScan scan = scans.computeIfAbsent(IngredientMatcher.normalizePantry(query.getIngredients()), pantry -> {
+                    long[] pantryBits = ingredientDictionary.resolve(pantry);
+                    return new PantryScan(pantryBits, index.countMatchedIngredients(pantryBits));
+                });
+
+                int from = offset(query.getOffset());
+                int size = limit(query.getLimit(), maxLimit);
+                List<Candidate> ranked = rank(catalog, scan.getMatchedCounts(),
+                        threshold(query.getMinMatchPercentage()), topK(from, size));
+                results.add(page(catalog, scan.getPantryBits(), ranked, from).toList());
+            }
+
+            log.info("Matched a batch of {} requests with {} distinct pantries against catalog v{}",
+                    queries.size(), scans.size(), catalog.getVersion());
+            return results;
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
 
+    private Stream<MatchResult> match(List<String> userIngredients,
+                                      Double minMatchPercentage,
+                                      Integer offset,
+                                      Integer limit,
+                                      int pageCap) {
         if (userIngredients == null || userIngredients.isEmpty()) {
-            return List.of();
+            return Stream.empty();
         }
 
-        // Get all meals from cache or API
-        List<Meal> allMeals = mealService.getAllMeals();
-        log.debug("Retrieved {} meals for matching", allMeals.size());
+        double threshold = threshold(minMatchPercentage);
+        int from = offset(offset);
+        int size = limit(limit, pageCap);
+        log.info("Finding matching meals for {} ingredients with threshold {}% (offset {}, limit {})",
+                userIngredients.size(), threshold, from, size);
 
-        // Calculate matches
-        List<MatchResult> allMatches = allMeals.stream()
-                .map(meal -> ingredientMatcher.calculateMatch(meal, userIngredients))
-                .filter(match -> match.getMatchPercentage() >= MIN_MATCH_THRESHOLD)
-                .collect(Collectors.toList());
+        Timer.Sample sample = Timer.start();
+        Catalog catalog;
+        long[] pantryBits;
+        List<Candidate> ranked;
+        try {
+            catalog = catalogService.getCatalog();
+            pantryBits = ingredientDictionary.resolve(IngredientMatcher.normalizePantry(userIngredients));
+            int[] matchedCounts = catalog.getIngredientIndex().countMatchedIngredients(pantryBits);
+            ranked = rank(catalog, matchedCounts, threshold, topK(from, size));
+        } finally {
+            sample.stop(matchTimer);
+        }
 
-        log.info("Found {} meals matching threshold of {}%", allMatches.size(), MIN_MATCH_THRESHOLD);
+        return page(catalog, pantryBits, ranked, from);
+    }
 
-        // Sort by match percentage
-        return ingredientMatcher.sortByMatchPercentage(allMatches);
+    private double threshold(Double minMatchPercentage) {
+        return minMatchPercentage != null ? minMatchPercentage : MIN_MATCH_THRESHOLD;
     }
 
-    public List<MatchResult> findMatchingMealsWithCustomThreshold(
-            List<String> userIngredients,
-            double minMatchPercentage) {
+    private int offset(Integer offset) {
+        return offset != null ? Math.max(offset, 0) : 0;
+    }
 
-        log.info("Finding matching meals with custom threshold: {}%", minMatchPercentage);
+    private int limit(Integer limit, int pageCap) {
+        return Math.min(limit != null ? limit : defaultLimit, pageCap);
+    }
 
-        if (userIngredients == null || userIngredients.isEmpty()) {
-            return List.of();
+    private static int topK(int from, int size) {
+        return (int) Math.min((long) from + size, Integer.MAX_VALUE);
+    }
+
+    // Matched/missing name lists are only built for the meals on the requested page
+    private Stream<MatchResult> page(Catalog catalog, long[] pantryBits, List<Candidate> ranked, int from) {
+        if (from >= ranked.size()) {
+            return Stream.empty();
         }
 
-        List<Meal> allMeals = mealService.getAllMeals();
+        List<Meal> meals = catalog.getMeals();
+        return ranked.subList(from, ranked.size()).stream()
+                .map(candidate -> ingredientMatcher.calculateMatch(meals.get(candidate.getPosition()), pantryBits));
+    }
+
+    private List<Candidate> rank(Catalog catalog, int[] matchedCounts, double minMatchPercentage, int topK) {
+        List<Meal> meals = catalog.getIngredientIndex().getMeals();
+
+        // Meals sharing no ingredient with the pantry score 0% and only qualify for a non-positive threshold
+        boolean includeUnmatched = minMatchPercentage <= 0.0;
 
-        List<MatchResult> allMatches = allMeals.stream()
-                .map(meal -> ingredientMatcher.calculateMatch(meal, userIngredients))
-                .filter(match -> match.getMatchPercentage() >= minMatchPercentage)
-                .collect(Collectors.toList());
+        PriorityQueue<Candidate> top = new PriorityQueue<>(Math.min(topK, 1024) + 1, WORST_FIRST);
+        int scored = 0;
+        int qualifying = 0;
+        for (int position = 0; position < matchedCounts.length; position++) {
+            int matchedCount = matchedCounts[position];
+            if (matchedCount == 0 && !includeUnmatched) {
+                continue;
+            }
+
+            Meal meal = meals.get(position);
+            if (meal == null) {
+                continue;
+            }
+            scored++;
+            double percentage = IngredientMatcher.percentage(matchedCount, meal.getIngredientCount());
+            if (percentage < minMatchPercentage) {
+                continue;
+            }
+
+            qualifying++;
+            if (topK <= 0) {
+                continue;
+            }
+            Candidate candidate = new Candidate(position, matchedCount, percentage);
+            if (top.size() < topK) {
+                top.add(candidate);
+            } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        candidateCounts.record(scored);
+        resultCounts.record(qualifying);
+        log.info("Found {} meals matching threshold of {}% (catalog v{}, {} meals, {} scored)",
+                qualifying, minMatchPercentage, catalog.getVersion(), meals.size(), scored);
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        return ranked;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PantryScan {
+        private final long[] pantryBits;
+        private final int[] matchedCounts;
+    }
 
-        return ingredientMatcher.sortByMatchPercentage(allMatches);
+    @Getter
+    @AllArgsConstructor
+    private static class Candidate {
+        private final int position;
+        private final int matchedCount;
+        private final double percentage;
     }
 }
@@ -0,0 +1,121 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.adapter.themealdb.UpstreamPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fans independent upstream lookups out over a bounded pool so a batch costs roughly
+ * its slowest call instead of the sum of all calls. Background batches (crawls, cache refreshes)
+ * get their own pool and a longer deadline, so they never queue ahead of interactive lookups and
+ * are not cut off while the upstream limiter holds them back.
+ */
+@Slf4j
+@Component
+public class MealHydrator {
+
+    private final ExecutorService executor;
+    private final long deadlineMs;
+    private final ExecutorService backgroundExecutor;
+    private final long backgroundDeadlineMs;
+
+    public MealHydrator(@Value("${themealdb.hydration.parallelism:8}") int parallelism,
+                        @Value("${themealdb.hydration.deadline-ms:10000}") long deadlineMs,
+                        @Value("${themealdb.hydration.background-parallelism:4}") int backgroundParallelism,
+                        @Value("${themealdb.hydration.background-deadline-ms:120000}") long backgroundDeadlineMs,
+                        @Value("${themealdb.limiter.interactive-wait-ms:500}") long interactiveWaitMs,
+                        @Value("${themealdb.limiter.background-wait-ms:30000}") long backgroundWaitMs) {
+        // A lookup must be able to wait out the limiter's queue and still make its round trip
+        if (interactiveWaitMs >= deadlineMs || backgroundWaitMs >= backgroundDeadlineMs) {
+            throw new IllegalStateException("Limiter waits (" + interactiveWaitMs + "ms, " + backgroundWaitMs
+                    + "ms) must be shorter than the hydration deadlines (" + deadlineMs + "ms, "
+                    + backgroundDeadlineMs + "ms)");
+        }
+        this.executor = newPool("meal-hydration-", parallelism);
+        this.deadlineMs = deadlineMs;
+        this.backgroundExecutor = newPool("meal-hydration-background-", backgroundParallelism);
+        this.backgroundDeadlineMs = backgroundDeadlineMs;
+    }
+
+    private static ExecutorService newPool(String namePrefix, int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads every key, keeping input order. Keys whose lookup fails, returns null or misses
+     * the batch deadline are left out, so callers always get the partial result.
+     */
+    public <T> List<T> hydrate(List<String> keys, Function<String, T> loader) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        // Lookups run at the caller's upstream priority, so a crawl's fan-out stays background
+        UpstreamPriority priority = UpstreamPriority.current();
+        boolean background = priority == UpstreamPriority.BACKGROUND;
+        long deadlineMs = background ? backgroundDeadlineMs : this.deadlineMs;
+        List<Callable<T>> tasks = keys.stream()
+                .<Callable<T>>map(key -> () -> priority.run(() -> loader.apply(key)))
+                .toList();
+
+        List<Future<T>> futures;
+        try {
+            // invokeAll cancels whatever has not finished once the deadline passes
+            futures = (background ? backgroundExecutor : executor).invokeAll(tasks, deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Hydration of {} keys interrupted", keys.size());
+            return List.of();
+        }
+
+        List<T> results = new ArrayList<>(keys.size());
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                T result = futures.get(i).get();
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (CancellationException e) {
+                failed++;
+                log.warn("Lookup for {} missed the {}ms hydration deadline", keys.get(i), deadlineMs);
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Failed to fetch details for: {}", keys.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (failed > 0) {
+            log.warn("Hydrated {} of {} keys", results.size(), keys.size());
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        backgroundExecutor.shutdownNow();
+    }
+}
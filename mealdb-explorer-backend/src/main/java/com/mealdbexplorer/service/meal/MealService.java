@@ -1,22 +1,36 @@
 package com.mealdbexplorer.service.meal;
 
+import com.mealdbexplorer.adapter.themealdb.TheMealDbAsyncClient;
 import com.mealdbexplorer.adapter.themealdb.TheMealDbClient;
+import com.mealdbexplorer.config.CacheReloaders;
 import com.mealdbexplorer.adapter.themealdb.dto.CategoryDbResponse;
-import com.mealdbexplorer.adapter.themealdb.dto.MealDbDto;
-import com.mealdbexplorer.adapter.themealdb.dto.MealDbResponse;
+import com.mealdbexplorer.domain.model.Catalog;
 import com.mealdbexplorer.domain.model.Category;
 import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.MealSummary;
+import com.mealdbexplorer.domain.model.logic.MealSearchIndex;
 import com.mealdbexplorer.exception.ResourceNotFoundException;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
 import com.mealdbexplorer.mapper.CategoryMapper;
-import com.mealdbexplorer.mapper.MealMapper;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -24,52 +38,176 @@ import java.util.List;
 public class MealService {
 
     private final TheMealDbClient mealDbClient;
-    private final MealMapper mealMapper;
     private final CategoryMapper categoryMapper;
+    private final MealHydrator mealHydrator;
+    private final CatalogService catalogService;
+    private final MealStore mealStore;
+    private final CacheReloaders cacheReloaders;
+    private final PopularityTracker popularityTracker;
+    private final RandomMealPool randomMealPool;
+    // Present with themealdb.client.mode=async
+    private final Optional<TheMealDbAsyncClient> asyncClient;
 
-    @Cacheable(value = "meals", key = "#name")
+    @Value("${search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${popularity.size:20}")
+    private int popularSize;
+
+    // Reloads go straight to the upstream; list caches get their ids back from the meal store
+    @PostConstruct
+    public void registerCacheReloaders() {
+        cacheReloaders.register("meal", id -> fetchMealById((String) id));
+        cacheReloaders.register("categories", key -> getAllCategories());
+        cacheReloaders.register("mealsByCategory", category -> mealStore.remember(fetchMealsByCategory((String) category)));
+        cacheReloaders.register("popularMeals", key -> mealStore.remember(fetchPopularMeals()));
+    }
+
+    /**
+     * Answered from the catalog's search index once a catalog is loaded; the upstream is only
+     * asked while there is none, i.e. on a cold start without snapshot. Queries with no word in
+     * them are never sent upstream, where an empty name lists meals instead of finding none.
+     */
     public List<Meal> searchMealsByName(String name) {
         log.info("Searching meals by name: {}", name);
 
-        MealDbResponse response = mealDbClient.searchMealsByName(name);
-
-        if (response == null || response.getMeals() == null) {
+        if (!MealSearchIndex.isSearchable(name)) {
             return List.of();
         }
 
-        return mealMapper.toDomainList(response.getMeals());
+        Catalog catalog = catalogService.getLoadedCatalog().orElse(null);
+        if (catalog != null && catalog.size() > 0) {
+            return catalog.getSearchIndex().search(name, maxSearchResults);
+        }
+
+        try {
+            return mealDbClient.searchMealsByName(name);
+        } catch (UpstreamUnavailableException e) {
+            return staleCatalog(e).getSearchIndex().search(name, maxSearchResults);
+        }
     }
 
-    @Cacheable(value = "meal", key = "#id")
     public Meal getMealById(String id) {
+        return mealStore.get(id, this::fetchMealById);
+    }
+
+    private Meal fetchMealById(String id) {
         log.info("Fetching meal by id: {}", id);
 
-        MealDbResponse response = mealDbClient.getMealById(id);
+        List<Meal> meals;
+        try {
+            meals = mealDbClient.getMealById(id);
+        } catch (UpstreamUnavailableException e) {
+            Meal meal = staleCatalog(e).getMealsById().get(id);
+            if (meal == null) {
+                throw e;
+            }
+            return meal;
+        }
 
-        if (response == null || response.getMeals() == null || response.getMeals().isEmpty()) {
+        if (meals.isEmpty()) {
             throw new ResourceNotFoundException("Meal not found with id: " + id);
         }
 
-        return mealMapper.toDomain(response.getMeals().get(0));
+        return meals.get(0);
     }
 
+    /**
+     * Picked uniformly from the loaded catalog; without one, taken from the prefetched pool, and
+     * only when that has run dry fetched from the upstream while the caller waits.
+     */
     public Meal getRandomMeal() {
-        log.info("Fetching random meal");
+        Catalog catalog = catalogService.getLoadedCatalog().orElse(null);
+        if (catalog != null && catalog.size() > 0) {
+            return catalog.getMeals().get(ThreadLocalRandom.current().nextInt(catalog.size()));
+        }
+
+        Meal meal = randomMealPool.poll();
+        if (meal == null) {
+            log.info("Fetching random meal");
+            List<Meal> meals = mealDbClient.getRandomMeal();
+            if (meals.isEmpty()) {
+                throw new ResourceNotFoundException("No random meal found");
+            }
+            meal = meals.get(0);
+        }
+
+        return remember(meal);
+    }
+
+    // The detail page asks for this meal next
+    private Meal remember(Meal meal) {
+        mealStore.remember(List.of(meal));
+        return meal;
+    }
+
+    /**
+     * Async variants: local answers complete immediately; upstream lookups go through the
+     * non-blocking client when it is enabled and otherwise run on the calling thread as before.
+     */
+    public CompletableFuture<List<Meal>> searchMealsByNameAsync(String name) {
+        boolean local = catalogService.getLoadedCatalog().map(catalog -> catalog.size() > 0).orElse(false);
+        if (local || asyncClient.isEmpty() || !MealSearchIndex.isSearchable(name)) {
+            return completed(() -> searchMealsByName(name));
+        }
+
+        log.info("Searching meals by name: {}", name);
+        return asyncClient.get().searchMealsByName(name);
+    }
 
-        MealDbResponse response = mealDbClient.getRandomMeal();
+    public CompletableFuture<Meal> getMealByIdAsync(String id) {
+        List<Meal> present = mealStore.getIfPresent(List.of(id));
+        if (!present.isEmpty()) {
+            return CompletableFuture.completedFuture(present.get(0));
+        }
+        if (asyncClient.isEmpty()) {
+            return completed(() -> getMealById(id));
+        }
+
+        log.info("Fetching meal by id: {}", id);
+        return asyncClient.get().getMealById(id).thenApply(meals -> {
+            if (meals.isEmpty()) {
+                throw new ResourceNotFoundException("Meal not found with id: " + id);
+            }
+            mealStore.remember(meals);
+            return meals.get(0);
+        });
+    }
+
+    public CompletableFuture<Meal> getRandomMealAsync() {
+        boolean local = catalogService.getLoadedCatalog().map(catalog -> catalog.size() > 0).orElse(false);
+        if (local || asyncClient.isEmpty()) {
+            return completed(this::getRandomMeal);
+        }
 
-        if (response == null || response.getMeals() == null || response.getMeals().isEmpty()) {
-            throw new ResourceNotFoundException("No random meal found");
+        Meal pooled = randomMealPool.poll();
+        if (pooled != null) {
+            return CompletableFuture.completedFuture(remember(pooled));
         }
 
-        return mealMapper.toDomain(response.getMeals().get(0));
+        log.info("Fetching random meal");
+        return asyncClient.get().getRandomMeal().thenApply(meals -> {
+            if (meals.isEmpty()) {
+                throw new ResourceNotFoundException("No random meal found");
+            }
+            return remember(meals.get(0));
+        });
     }
 
     @Cacheable(value = "categories")
     public List<Category> getAllCategories() {
         log.info("Fetching all categories");
 
-        CategoryDbResponse response = mealDbClient.getAllCategories();
+        CategoryDbResponse response;
+        try {
+            response = mealDbClient.getAllCategories();
+        } catch (UpstreamUnavailableException e) {
+            List<Category> categories = staleCatalog(e).getCategories();
+            if (categories.isEmpty()) {
+                throw e;
+            }
+            return categories;
+        }
 
         if (response == null || response.getCategories() == null) {
             return List.of();
@@ -78,100 +216,113 @@ public class MealService {
         return categoryMapper.toDomainList(response.getCategories());
     }
 
-    @Cacheable(value = "mealsByCategory", key = "#category")
     public List<Meal> getMealsByCategory(String category) {
-        log.info("Fetching meals by category: {}", category);
+        return mealStore.list("mealsByCategory", category, () -> fetchMealsByCategory(category), this::fetchMealById);
+    }
 
-        MealDbResponse response = mealDbClient.getMealsByCategory(category);
+    private List<Meal> fetchMealsByCategory(String category) {
+        log.info("Fetching meals by category: {}", category);
 
-        if (response == null || response.getMeals() == null) {
-            return List.of();
+        List<Meal> summaries;
+        try {
+            summaries = mealDbClient.getMealsByCategory(category);
+        } catch (UpstreamUnavailableException e) {
+            return staleCatalog(e).getMeals().stream()
+                    .filter(meal -> category.equalsIgnoreCase(meal.getCategory()))
+                    .toList();
         }
 
         // Filter response gives us basic info, we need to fetch full details
-        List<MealDbDto> basicMeals = response.getMeals();
-        List<Meal> detailedMeals = basicMeals.stream()
-                .map(meal -> {
-                    try {
-                        return getMealById(meal.getIdMeal());
-                    } catch (Exception e) {
-                        log.error("Failed to fetch details for meal: {}", meal.getIdMeal(), e);
-                        return null;
-                    }
-                })
-                .filter(meal -> meal != null)
+        List<String> mealIds = summaries.stream()
+                .map(Meal::getId)
                 .toList();
 
-        return detailedMeals;
+        return mealHydrator.hydrate(mealIds, this::getMealById);
     }
 
-    @Cacheable(value = "allMeals")
-    public List<Meal> getAllMeals() {
-        log.info("Fetching all meals");
-
-        try {
-            // Try to get all meals using empty search
-            MealDbResponse response = mealDbClient.getAllMeals();
-            if (response != null && response.getMeals() != null) {
-                return mealMapper.toDomainList(response.getMeals());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch all meals using empty search, falling back to category-based approach", e);
-        }
+    /**
+     * The most viewed meals, topped up from the catalog while there is not enough traffic yet.
+     * Only with neither views nor a catalog does this fall back to sampling upstream categories.
+     */
+    public List<Meal> getPopularMeals() {
+        List<Meal> meals = new ArrayList<>(mealStore.getIfPresent(popularityTracker.top(popularSize)));
 
-        // Fallback: Get meals from all categories
-        log.info("Using fallback: fetching meals from all categories");
-        List<Meal> allMeals = new ArrayList<>();
-        try {
-            List<Category> categories = getAllCategories();
-            for (Category category : categories) {
-                try {
-                    List<Meal> categoryMeals = getMealsByCategory(category.getName());
-                    allMeals.addAll(categoryMeals);
-                } catch (Exception e) {
-                    log.warn("Failed to fetch meals from category: {}", category.getName(), e);
+        Catalog catalog = catalogService.getLoadedCatalog().orElse(null);
+        if (meals.size() < popularSize && catalog != null && catalog.size() > 0) {
+            Set<String> chosen = new HashSet<>();
+            meals.forEach(meal -> chosen.add(meal.getId()));
+            // Evenly spaced through the catalog, so the pick is stable for a catalog version
+            List<Meal> catalogMeals = catalog.getMeals();
+            int step = Math.max(catalogMeals.size() / popularSize, 1);
+            for (int i = 0; i < catalogMeals.size() && meals.size() < popularSize; i += step) {
+                if (chosen.add(catalogMeals.get(i).getId())) {
+                    meals.add(catalogMeals.get(i));
                 }
             }
-        } catch (Exception e) {
-            log.error("Failed to fetch meals from categories", e);
         }
 
-        return allMeals;
+        if (meals.isEmpty()) {
+            return mealStore.list("popularMeals", SimpleKey.EMPTY, this::fetchPopularMeals, this::fetchMealById);
+        }
+        return meals;
     }
 
-    @Cacheable(value = "popularMeals")
-    public List<Meal> getPopularMeals() {
+    private List<Meal> fetchPopularMeals() {
         log.info("Fetching popular meals from popular categories");
 
         // Popular categories to fetch meals from
         List<String> popularCategories = List.of("Beef", "Chicken", "Dessert", "Vegetarian", "Pasta", "Seafood");
         
-        List<Meal> allMeals = new ArrayList<>();
-        
-        for (String category : popularCategories) {
-            try {
-                MealDbResponse response = mealDbClient.getMealsByCategory(category);
-                if (response != null && response.getMeals() != null) {
-                    // Get basic meal info from filter endpoint (faster than full details)
-                    List<MealDbDto> basicMeals = response.getMeals().stream().limit(4).toList();
-                    // Fetch full details only for the limited set
-                    for (MealDbDto basicMeal : basicMeals) {
-                        try {
-                            Meal fullMeal = getMealById(basicMeal.getIdMeal());
-                            allMeals.add(fullMeal);
-                        } catch (Exception e) {
-                            log.warn("Failed to fetch full details for meal: {}", basicMeal.getIdMeal(), e);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Failed to fetch meals from category: {}", category, e);
-                // Continue with other categories even if one fails
-            }
-        }
-        
+        // Get basic meal info from filter endpoint (faster than full details)
+        List<List<String>> categoryMealIds = mealHydrator.hydrate(popularCategories, category ->
+                mealDbClient.getMealsByCategory(category).stream()
+                        .limit(4)
+                        .map(Meal::getId)
+                        .toList());
+
+        // Fetch full details only for the limited set
+        List<String> mealIds = categoryMealIds.stream()
+                .flatMap(List::stream)
+                .toList();
+        List<Meal> allMeals = new ArrayList<>(mealHydrator.hydrate(mealIds, this::getMealById));
+
         // Shuffle and limit to 20 meals for variety
         Collections.shuffle(allMeals);
         return allMeals.stream().limit(20).toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Card-sized views of {@code meals}, taken from the summaries built with the loaded catalog;
+     * meals outside it are summarized on the spot.
+     */
+    public List<MealSummary> summarize(List<Meal> meals) {
+        Map<String, MealSummary> catalogSummaries = catalogService.getLoadedCatalog()
+                .map(Catalog::getSummariesById)
+                .orElse(Map.of());
+
+        List<MealSummary> summaries = new ArrayList<>(meals.size());
+        for (Meal meal : meals) {
+            MealSummary summary = catalogSummaries.get(meal.getId());
+            summaries.add(summary != null ? summary : MealSummary.of(meal));
+        }
+        return summaries;
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The loaded catalog, served while the upstream circuit is open. Without one there is nothing
+     * stale to serve, so the rejection is passed on.
+     */
+    private Catalog staleCatalog(UpstreamUnavailableException e) {
+        Catalog catalog = catalogService.getLoadedCatalog().orElseThrow(() -> e);
+        log.warn("Serving stale data from catalog v{}: {}", catalog.getVersion(), e.getMessage());
+        return catalog;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Normalized meal storage: each meal is held once, by id, either in the loaded catalog or in the
+ * {@code meal} cache. List-shaped caches only keep id arrays, which are resolved here on read.
+ */
+@Component
+public class MealStore {
+
+    private final CatalogService catalogService;
+    private final MealHydrator mealHydrator;
+    private final CacheManager cacheManager;
+    private final Cache mealCache;
+
+    public MealStore(CatalogService catalogService, MealHydrator mealHydrator, CacheManager cacheManager) {
+        this.catalogService = catalogService;
+        this.mealHydrator = mealHydrator;
+        this.cacheManager = cacheManager;
+        this.mealCache = cacheManager.getCache("meal");
+    }
+
+    public Meal get(String id, Function<String, Meal> loader) {
+        Meal meal = peek(id);
+        if (meal != null) {
+            return meal;
+        }
+
+        meal = loader.apply(id);
+        mealCache.put(id, meal);
+        return meal;
+    }
+
+    /**
+     * The meals among {@code ids} held in the catalog or the meal cache, in order; never loads.
+     */
+    public List<Meal> getIfPresent(List<String> ids) {
+        List<Meal> meals = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Meal meal = peek(id);
+            if (meal != null) {
+                meals.add(meal);
+            }
+        }
+        return meals;
+    }
+
+    /**
+     * Returns the list cached under {@code key} in {@code cacheName}, loading and storing it on a miss.
+     * Meals whose entry has since been evicted are reloaded with {@code mealLoader}; meals that can no
+     * longer be loaded are left out.
+     */
+    public List<Meal> list(String cacheName, Object key, Supplier<List<Meal>> loader, Function<String, Meal> mealLoader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        String[] ids = cache.get(key, String[].class);
+        if (ids != null) {
+            return resolve(ids, mealLoader);
+        }
+
+        List<Meal> meals = loader.get();
+        cache.put(key, remember(meals));
+        return meals;
+    }
+
+    /**
+     * Stores the meals by id and returns their ids in order, as a list-shaped cache holds them.
+     */
+    public String[] remember(List<Meal> meals) {
+        String[] ids = new String[meals.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Meal meal = meals.get(i);
+            ids[i] = meal.getId();
+            if (catalogMeal(meal.getId()) == null) {
+                mealCache.put(meal.getId(), meal);
+            }
+        }
+        return ids;
+    }
+
+    private List<Meal> resolve(String[] ids, Function<String, Meal> mealLoader) {
+        Meal[] resolved = new Meal[ids.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            resolved[i] = peek(ids[i]);
+            if (resolved[i] == null) {
+                missing.add(ids[i]);
+            }
+        }
+
+        Map<String, Meal> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            mealHydrator.hydrate(missing, id -> get(id, mealLoader))
+                    .forEach(meal -> loaded.put(meal.getId(), meal));
+        }
+
+        List<Meal> meals = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Meal meal = resolved[i] != null ? resolved[i] : loaded.get(ids[i]);
+            if (meal != null) {
+                meals.add(meal);
+            }
+        }
+        return meals;
+    }
+
+    private Meal peek(String id) {
+        Meal meal = catalogMeal(id);
+        return meal != null ? meal : mealCache.get(id, Meal.class);
+    }
+
+    private Meal catalogMeal(String id) {
+        return catalogService.getLoadedCatalog()
+                .map(catalog -> catalog.getMealsById().get(id))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.domain.model.MatchResult;
+import com.mealdbexplorer.domain.model.logic.CountMinSketch;
+import com.mealdbexplorer.domain.model.logic.HeavyHitters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Which meals people actually look at: every served meal detail and the top results of every served
+ * match count once, in a Count-Min sketch with the heaviest meals kept aside for {@code /popular}.
+ * All counts are halved every {@code popularity.half-life-ms}, so popularity follows recent traffic.
+ */
+@Slf4j
+@Component
+public class PopularityTracker {
+
+    private final CountMinSketch sketch;
+    private final HeavyHitters heavyHitters;
+    private final int matchResultsCounted;
+
+    public PopularityTracker(@Value("${popularity.sketch.width:4096}") int sketchWidth,
+                             @Value("${popularity.sketch.depth:4}") int sketchDepth,
+                             @Value("${popularity.tracked:100}") int tracked,
+                             @Value("${popularity.match-results-counted:3}") int matchResultsCounted,
+                             MeterRegistry meterRegistry) {
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+        this.heavyHitters = new HeavyHitters(tracked);
+        this.matchResultsCounted = matchResultsCounted;
+        Gauge.builder("popularity.tracked", heavyHitters, HeavyHitters::size)
+                .description("Meals currently held as popularity heavy hitters")
+                .register(meterRegistry);
+    }
+
+    public void recordView(String mealId) {
+        if (mealId != null) {
+            heavyHitters.offer(mealId, sketch.add(mealId));
+        }
+    }
+
+    /**
+     * Counts the best few results of a served match; the long tail of a page says little about taste.
+     */
+    public void recordMatches(List<MatchResult> results) {
+        for (int i = 0; i < Math.min(results.size(), matchResultsCounted); i++) {
+            recordMatch(i, results.get(i));
+        }
+    }
+
+    /**
+     * Counts one served match result at its {@code rank} in the response, for responses written out
+     * row by row; only the best few ranks count, as with {@link #recordMatches}.
+     */
+    public void recordMatch(int rank, MatchResult result) {
+        if (rank < matchResultsCounted) {
+            recordView(result.getMeal().getId());
+        }
+    }
+
+    /**
+     * Ids of the most viewed meals, most viewed first.
+     */
+    public List<String> top(int limit) {
+        return heavyHitters.top(limit);
+    }
+
+    @Scheduled(initialDelayString = "${popularity.half-life-ms:21600000}",
+            fixedDelayString = "${popularity.half-life-ms:21600000}")
+    public void decay() {
+        sketch.halve();
+        heavyHitters.halve();
+        log.debug("Popularity counts halved, {} meals tracked", heavyHitters.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.adapter.themealdb.TheMealDbClient;
+import com.mealdbexplorer.adapter.themealdb.UpstreamPriority;
+import com.mealdbexplorer.domain.model.Meal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upstream random meals fetched ahead of demand, for when there is no catalog to pick from.
+ * Taking one below half capacity starts a background refill; at most one refill runs at a time.
+ */
+@Slf4j
+@Component
+public class RandomMealPool {
+
+    private final TheMealDbClient mealDbClient;
+    private final BlockingQueue<Meal> pool;
+    private final int refillBelow;
+    private final ExecutorService refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    public RandomMealPool(TheMealDbClient mealDbClient,
+                          @Value("${themealdb.random.prefetch-size:16}") int size) {
+        this.mealDbClient = mealDbClient;
+        this.pool = new ArrayBlockingQueue<>(size);
+        this.refillBelow = Math.max(size / 2, 1);
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "random-meal-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A prefetched meal, or {@code null} when the pool has run dry.
+     */
+    public Meal poll() {
+        Meal meal = pool.poll();
+        if (pool.size() < refillBelow && refilling.compareAndSet(false, true)) {
+            refiller.execute(() -> UpstreamPriority.BACKGROUND.run(this::refill));
+        }
+        return meal;
+    }
+
+    private void refill() {
+        try {
+            while (pool.remainingCapacity() > 0) {
+                List<Meal> meals = mealDbClient.getRandomMeal();
+                if (meals.isEmpty()) {
+                    break;
+                }
+                pool.offer(meals.get(0));
+            }
+        } catch (Exception e) {
+            log.warn("Random meal prefetch stopped at {} meals: {}", pool.size(), e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+}
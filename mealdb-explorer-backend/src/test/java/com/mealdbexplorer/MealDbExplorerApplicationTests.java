@@ -3,7 +3,11 @@ package com.mealdbexplorer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No background crawl and no snapshot: the context must load without network access or writing data/
+@SpringBootTest(properties = {
+		"catalog.refresh.enabled=false",
+		"catalog.snapshot.enabled=false"
+})
 class MealDbExplorerApplicationTests {
 
 	@Test
@@ -0,0 +1,172 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.mealdbexplorer.adapter.themealdb.AdaptiveConcurrencyLimiter.Outcome;
+import com.mealdbexplorer.adapter.themealdb.AdaptiveConcurrencyLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration LONG_WAIT = Duration.ofSeconds(30);
+
+    @Test
+    void limitGrowsWhileItIsFullyUsedAndStopsAtTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 2, 8, 0.5, 1.0);
+
+        for (int round = 0; round < 200; round++) {
+            List<Permit> permits = acquireAll(limiter, UpstreamPriority.INTERACTIVE, limiter.getLimit());
+            permits.forEach(permit -> permit.release(Outcome.SUCCESS));
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 2, 32, 0.5, 1.0);
+
+        for (int round = 0; round < 200; round++) {
+            acquireNow(limiter, UpstreamPriority.INTERACTIVE).release(Outcome.SUCCESS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void droppedCallsShrinkTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 2, 32, 0.5, 1.0);
+
+        acquireNow(limiter, UpstreamPriority.INTERACTIVE).release(Outcome.DROPPED);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        acquireNow(limiter, UpstreamPriority.INTERACTIVE).release(Outcome.DROPPED);
+        acquireNow(limiter, UpstreamPriority.INTERACTIVE).release(Outcome.DROPPED);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void slowCallsShrinkTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 32, Duration.ofMillis(1),
+                0.5, 1.0, LONG_WAIT, LONG_WAIT, 10);
+
+        Permit permit = acquireNow(limiter, UpstreamPriority.INTERACTIVE);
+        Thread.sleep(20);
+        permit.release(Outcome.SUCCESS);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoredCallsLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 2, 32, 0.5, 1.0);
+        List<Permit> permits = acquireAll(limiter, UpstreamPriority.INTERACTIVE, 8);
+
+        permits.forEach(permit -> permit.release(Outcome.IGNORED));
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasingTwiceCountsOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 2, 32, 0.5, 1.0);
+        Permit permit = acquireNow(limiter, UpstreamPriority.INTERACTIVE);
+        acquireNow(limiter, UpstreamPriority.INTERACTIVE);
+
+        permit.release(Outcome.DROPPED);
+        permit.release(Outcome.DROPPED);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingInteractiveCallsAreAdmittedBeforeBackgroundOnes() {
+        // Limit 4, background share 0.5: background calls may hold 2 permits
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 4, 4, 0.5, 0.5);
+        List<Permit> running = acquireAll(limiter, UpstreamPriority.INTERACTIVE, 4);
+
+        CompletableFuture<Permit> background = limiter.acquire(UpstreamPriority.BACKGROUND);
+        CompletableFuture<Permit> interactive = limiter.acquire(UpstreamPriority.INTERACTIVE);
+        assertThat(limiter.getQueued()).isEqualTo(2);
+
+        running.get(0).release(Outcome.SUCCESS);
+        assertThat(interactive).isCompleted();
+        assertThat(background).isNotDone();
+
+        // Background calls are only admitted once fewer than their share of permits are in use
+        running.get(1).release(Outcome.SUCCESS);
+        running.get(2).release(Outcome.SUCCESS);
+        assertThat(background).isNotDone();
+
+        running.get(3).release(Outcome.SUCCESS);
+        assertThat(background).isCompleted();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void backgroundCallsDoNotOvertakeWaitingInteractiveOnes() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 4, 4, 0.5, 1.0);
+        acquireAll(limiter, UpstreamPriority.INTERACTIVE, 4);
+        limiter.acquire(UpstreamPriority.INTERACTIVE);
+
+        assertThat(limiter.acquire(UpstreamPriority.BACKGROUND)).isNotDone();
+        assertThat(limiter.getQueued()).isEqualTo(2);
+    }
+
+    @Test
+    void backgroundCallsOnlyUseTheirShareOfAnIdleLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 4, 4, 0.5, 0.5);
+        acquireAll(limiter, UpstreamPriority.BACKGROUND, 2);
+
+        assertThat(limiter.acquire(UpstreamPriority.BACKGROUND)).isNotDone();
+        assertThat(limiter.acquire(UpstreamPriority.INTERACTIVE)).isCompleted();
+    }
+
+    @Test
+    void fullQueueRejectsAndQueuedCallsTimeOut() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(10),
+                0.5, 1.0, Duration.ofMillis(50), LONG_WAIT, 1);
+        acquireNow(limiter, UpstreamPriority.INTERACTIVE);
+        CompletableFuture<Permit> queued = limiter.acquire(UpstreamPriority.INTERACTIVE);
+
+        assertThat(limiter.acquire(UpstreamPriority.INTERACTIVE))
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(queued::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, int min, int max, double backoffRatio,
+                                                      double backgroundShare) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, Duration.ofSeconds(10), backoffRatio,
+                backgroundShare, LONG_WAIT, LONG_WAIT, 10);
+    }
+
+    private static Permit acquireNow(AdaptiveConcurrencyLimiter limiter, UpstreamPriority priority) {
+        CompletableFuture<Permit> permit = limiter.acquire(priority);
+        assertThat(permit).isCompleted();
+        return permit.join();
+    }
+
+    private static List<Permit> acquireAll(AdaptiveConcurrencyLimiter limiter, UpstreamPriority priority, int count) {
+        List<Permit> permits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.add(acquireNow(limiter, priority));
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,160 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MealStreamReaderTest {
+
+    private final MealStreamReader reader = new MealStreamReader(new ObjectMapper());
+
+    @Test
+    void readsALookupRow() throws IOException {
+        List<Meal> meals = read("""
+                {"meals": [{
+                  "idMeal": "52977", "strMeal": "Corba", "strCategory": "Side", "strArea": "Turkish",
+                  "strInstructions": "Pick through your lentils.", "strMealThumb": "https://example.org/corba.jpg",
+                  "strYoutube": "https://www.youtube.com/watch?v=VVnZd8A84z4", "strTags": " Soup, ,Side ",
+                  "strIngredient1": "Lentils", "strMeasure1": " 1 cup ",
+                  "strIngredient2": "Onion", "strMeasure2": null
+                }]}
+                """);
+
+        assertThat(meals).hasSize(1);
+        Meal corba = meals.get(0);
+        assertThat(corba.getId()).isEqualTo("52977");
+        assertThat(corba.getName()).isEqualTo("Corba");
+        assertThat(corba.getCategory()).isEqualTo("Side");
+        assertThat(corba.getArea()).isEqualTo("Turkish");
+        assertThat(corba.getInstructions()).isEqualTo("Pick through your lentils.");
+        assertThat(corba.getThumbnailUrl()).isEqualTo("https://example.org/corba.jpg");
+        assertThat(corba.getYoutubeUrl()).isEqualTo("https://www.youtube.com/watch?v=VVnZd8A84z4");
+        assertThat(corba.getTags()).containsExactly("Soup", "Side");
+        assertThat(corba.getIngredients()).containsExactly(
+                new Ingredient("Lentils", "1 cup"),
+                new Ingredient("Onion", ""));
+    }
+
+    @Test
+    void ingredientsFollowTheirNumberingNotTheFieldOrder() throws IOException {
+        List<Meal> meals = read("""
+                {"meals": [{
+                  "strMeasure3": "2 tbs", "strIngredient10": "Salt", "strMeasure1": "1 cup",
+                  "strIngredient3": "Butter", "strMeasure10": "pinch", "strIngredient1": "Flour"
+                }]}
+                """);
+
+        assertThat(meals.get(0).getIngredients()).containsExactly(
+                new Ingredient("Flour", "1 cup"),
+                new Ingredient("Butter", "2 tbs"),
+                new Ingredient("Salt", "pinch"));
+    }
+
+    @Test
+    void blankAndMissingIngredientNamesAreEmptySlots() throws IOException {
+        List<Meal> meals = read("""
+                {"meals": [{
+                  "strIngredient1": "", "strMeasure1": "1 cup",
+                  "strIngredient2": "   ", "strMeasure2": "2 tbs",
+                  "strIngredient3": null, "strMeasure3": "pinch",
+                  "strMeasure4": "4 cloves",
+                  "strIngredient5": " Garlic ", "strMeasure5": "3 cloves"
+                }]}
+                """);
+
+        // Measures without an ingredient to go with are dropped with their slot
+        assertThat(meals.get(0).getIngredients()).containsExactly(new Ingredient("Garlic", "3 cloves"));
+    }
+
+    @Test
+    void slotsOutsideTheUpstreamNumberingAreIgnored() throws IOException {
+        List<Meal> meals = read("""
+                {"meals": [{
+                  "strIngredient0": "Zero", "strIngredient21": "Extra", "strIngredient100": "Hundred",
+                  "strIngredientX": "Letter", "strIngredient": "Bare", "strIngredient20": "Last"
+                }]}
+                """);
+
+        assertThat(meals.get(0).getIngredients()).containsExactly(new Ingredient("Last", ""));
+    }
+
+    @Test
+    void noResultsYieldNothing() throws IOException {
+        assertThat(read("{\"meals\": null}")).isEmpty();
+        assertThat(read("{\"meals\": \"no data found\"}")).isEmpty();
+        assertThat(read("{\"meals\": []}")).isEmpty();
+        assertThat(read("{}")).isEmpty();
+        assertThat(read("[]")).isEmpty();
+        assertThat(read("")).isEmpty();
+    }
+
+    @Test
+    void readsFilterRows() throws IOException {
+        List<Meal> meals = read("""
+                {"meals": [
+                  {"strMeal": "Beef and Mustard Pie", "strMealThumb": "https://example.org/pie.jpg", "idMeal": "52874"},
+                  {"strMeal": "Beef Wellington", "strMealThumb": "https://example.org/wellington.jpg", "idMeal": "52803"}
+                ]}
+                """);
+
+        assertThat(meals).extracting(Meal::getId).containsExactly("52874", "52803");
+        Meal pie = meals.get(0);
+        assertThat(pie.getName()).isEqualTo("Beef and Mustard Pie");
+        assertThat(pie.getThumbnailUrl()).isEqualTo("https://example.org/pie.jpg");
+        assertThat(pie.getCategory()).isNull();
+        assertThat(pie.getInstructions()).isNull();
+        assertThat(pie.getIngredients()).isEmpty();
+        assertThat(pie.getTags()).isEmpty();
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() throws IOException {
+        List<Meal> meals = read("""
+                {"version": 2, "paging": {"next": null, "pages": [1, 2]},
+                 "meals": [
+                  42, "stray", null, ["nested", {"idMeal": "0"}],
+                  {"idMeal": "52977", "strDrinkAlternate": null, "dateModified": "2024-01-01",
+                   "strSource": {"url": "https://example.org", "tags": ["a", "b"]}, "strImageSource": [1, {"x": 2}],
+                   "strCreativeCommonsConfirmed": false, "strMeal": "Corba", "strIngredient1": "Lentils"}
+                 ],
+                 "trailer": {"meals": [{"idMeal": "1"}]}}
+                """);
+
+        assertThat(meals).hasSize(1);
+        assertThat(meals.get(0).getId()).isEqualTo("52977");
+        assertThat(meals.get(0).getName()).isEqualTo("Corba");
+        assertThat(meals.get(0).getIngredients()).containsExactly(new Ingredient("Lentils", ""));
+    }
+
+    @Test
+    void slotsDoNotCarryOverBetweenMeals() throws IOException {
+        List<Meal> meals = new ArrayList<>();
+        reader.read(stream("""
+                {"meals": [
+                  {"idMeal": "1", "strIngredient1": "Lentils", "strMeasure1": "1 cup", "strIngredient2": "Onion"},
+                  {"idMeal": "2", "strMeasure2": "2 tbs"}
+                ]}
+                """), meals::add);
+
+        assertThat(meals).extracting(Meal::getId).containsExactly("1", "2");
+        assertThat(meals.get(0).getIngredients()).hasSize(2);
+        assertThat(meals.get(1).getIngredients()).isEmpty();
+    }
+
+    private List<Meal> read(String json) throws IOException {
+        return reader.read(stream(json));
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
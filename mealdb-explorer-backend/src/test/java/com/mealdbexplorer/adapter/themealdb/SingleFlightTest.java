@@ -0,0 +1,176 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+    @Test
+    void concurrentCallsForOneKeyRunOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("lookup:52977", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "Corba";
+                })));
+            }
+            // Every caller is either running the call or waiting for it before the call finishes
+            while (singleFlight.getExecutedCalls() + singleFlight.getCoalescedCalls() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Corba");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.getCoalescedCalls()).isEqualTo(7);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void finishedCallsAreNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("lookup:52977", calls::incrementAndGet);
+        singleFlight.execute("lookup:52977", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+        assertThat(singleFlight.getCoalescedCalls()).isZero();
+    }
+
+    @Test
+    void failuresReachTheCallerAndClearTheKey() {
+        assertThatThrownBy(() -> singleFlight.execute("lookup:52977", () -> {
+            throw new IllegalStateException("upstream down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.getInFlightCount()).isZero();
+        assertThat(singleFlight.execute("lookup:52977", () -> "Corba")).isEqualTo("Corba");
+    }
+
+    @Test
+    void asyncCallersShareTheInFlightFuture() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("lookup:52977", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("lookup:52977", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertThat(second).isNotDone();
+
+        upstream.complete("Corba");
+
+        assertThat(first).isCompletedWithValue("Corba");
+        assertThat(second).isCompletedWithValue("Corba");
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void asyncFailuresReachEveryCaller() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.executeAsync("lookup:52977", () -> upstream);
+        CompletableFuture<String> second = singleFlight.executeAsync("lookup:52977", () -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("upstream down"));
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void anErrorStillClearsTheKey() {
+        assertThatThrownBy(() -> singleFlight.execute("lookup:52977", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> singleFlight.executeAsync("lookup:52977", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(singleFlight.getInFlightCount()).isZero();
+        assertThat(singleFlight.execute("lookup:52977", () -> "Corba")).isEqualTo("Corba");
+    }
+
+    @Test
+    void interactiveCallersDoNotJoinABackgroundCall() {
+        CompletableFuture<String> crawl = new CompletableFuture<>();
+        CompletableFuture<String> background = UpstreamPriority.BACKGROUND.run(() ->
+                singleFlight.executeAsync("lookup:52977", () -> crawl));
+
+        String interactive = singleFlight.execute("lookup:52977", () -> "Corba");
+
+        assertThat(interactive).isEqualTo("Corba");
+        assertThat(background).isNotDone();
+        assertThat(singleFlight.getExecutedCalls()).isEqualTo(2);
+        assertThat(singleFlight.getCoalescedCalls()).isZero();
+    }
+
+    @Test
+    void backgroundCallersJoinAnInteractiveCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> interactive = singleFlight.executeAsync("lookup:52977", () -> upstream);
+        CompletableFuture<String> background = UpstreamPriority.BACKGROUND.run(() ->
+                singleFlight.<String>executeAsync("lookup:52977", () -> CompletableFuture.completedFuture("other")));
+
+        upstream.complete("Corba");
+
+        assertThat(interactive).isCompletedWithValue("Corba");
+        assertThat(background).isCompletedWithValue("Corba");
+        assertThat(singleFlight.getCoalescedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void joinersGiveUpAfterTheirJoinTimeout() {
+        SingleFlight shortWaits = new SingleFlight(Duration.ofMillis(50), Duration.ofMillis(50));
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        shortWaits.executeAsync("lookup:52977", () -> upstream);
+
+        assertThatThrownBy(() -> shortWaits.execute("lookup:52977", () -> "other"))
+                .isInstanceOf(UpstreamUnavailableException.class);
+        assertThatThrownBy(() -> shortWaits.executeAsync("lookup:52977", () -> upstream).join())
+                .hasCauseInstanceOf(UpstreamUnavailableException.class);
+
+        upstream.complete("Corba");
+        assertThat(shortWaits.getInFlightCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.mealdbexplorer.adapter.themealdb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.exception.ExternalApiException;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TheMealDbAsyncClientTest {
+
+    private static final String CORBA = """
+            {"meals":[{"idMeal":"52977","strMeal":"Corba","strCategory":"Side","strArea":"Turkish",
+            "strIngredient1":"Lentils","strMeasure1":"1 cup","strTags":"Soup"}]}""";
+
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> body = new AtomicReference<>(CORBA);
+    private final AtomicInteger delayMs = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private String baseUrl;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            sleep(delayMs.get());
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        limiter = new AdaptiveConcurrencyLimiter(8, 4, 32, Duration.ofSeconds(10), 0.5, 0.75,
+                Duration.ofMillis(100), Duration.ofSeconds(1), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void parsesASuccessfulLookupAndReleasesThePermit() {
+        List<Meal> meals = client(HttpClient.newHttpClient(), 2000).getMealById("52977").join();
+
+        assertThat(meals).extracting(Meal::getName).containsExactly("Corba");
+        assertThat(meals.get(0).getIngredients()).hasSize(1);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void upstreamErrorsFailWithExternalApiExceptionAndBackOff() {
+        status.set(500);
+
+        assertThatThrownBy(() -> client(HttpClient.newHttpClient(), 2000).getMealById("52977").join())
+                .hasCauseInstanceOf(ExternalApiException.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void clientErrorsDoNotBackOff() {
+        status.set(404);
+
+        assertThatThrownBy(() -> client(HttpClient.newHttpClient(), 2000).getMealById("52977").join())
+                .hasCauseInstanceOf(ExternalApiException.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void responseTimeoutsFailAndReleaseThePermit() {
+        delayMs.set(1000);
+
+        assertThatThrownBy(() -> client(HttpClient.newHttpClient(), 100).getMealById("52977").join())
+                .hasCauseInstanceOf(ExternalApiException.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void callsNotAdmittedInTimeAreUnavailable() {
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(10), 0.5, 1.0,
+                Duration.ofMillis(50), Duration.ofSeconds(1), 10);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire(UpstreamPriority.INTERACTIVE).join();
+
+        assertThatThrownBy(() -> client(HttpClient.newHttpClient(), 2000).getMealById("52977").join())
+                .hasCauseInstanceOf(UpstreamUnavailableException.class);
+        assertThat(requests).hasValue(0);
+
+        held.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void aSendThatThrowsReleasesThePermit() {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(), any())).thenThrow(new RejectedExecutionException("executor shut down"));
+
+        assertThatThrownBy(() -> client(httpClient, 2000).getMealById("52977").join())
+                .hasCauseInstanceOf(UpstreamUnavailableException.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void concurrentLookupsOfOneIdShareARoundTrip() {
+        delayMs.set(200);
+        TheMealDbAsyncClient client = client(HttpClient.newHttpClient(), 2000);
+
+        CompletableFuture<List<Meal>> first = client.getMealById("52977");
+        CompletableFuture<List<Meal>> second = client.getMealById("52977");
+
+        assertThat(second.join()).isEqualTo(first.join());
+        assertThat(requests).hasValue(1);
+    }
+
+    private TheMealDbAsyncClient client(HttpClient httpClient, long timeoutMs) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MealStreamReader reader = new MealStreamReader(new ObjectMapper());
+        TheMealDbClient blockingClient = new TheMealDbClient(baseUrl, timeoutMs, 1000, 100, 1000,
+                new SimpleClientHttpRequestFactory(), reader, meterRegistry, BulkheadRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(), limiter);
+        return new TheMealDbAsyncClient(baseUrl, timeoutMs, httpClient, reader, blockingClient, meterRegistry,
+                BulkheadRegistry.ofDefaults(), CircuitBreakerRegistry.ofDefaults(), limiter);
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheReloadersTest {
+
+    private final CacheReloaders reloaders = new CacheReloaders(1, 1);
+    private final AtomicLong nanos = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        reloaders.shutdown();
+    }
+
+    @Test
+    void loadsGoThroughTheOwningService() throws Exception {
+        CacheLoader<Object, Object> loader = reloaders.loaderFor("meal");
+        assertThat(loader.load("52977")).isNull();
+        assertThat(loader.reload("52977", "Corba")).isEqualTo("Corba");
+
+        reloaders.register("meal", key -> "loaded " + key);
+
+        assertThat(loader.load("52977")).isEqualTo("loaded 52977");
+        assertThat(loader.reload("52977", "Corba")).isEqualTo("loaded 52977");
+    }
+
+    @Test
+    void reloadsRunOnTheirOwnPool() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        reloaders.register("meal", key -> {
+            thread.set(Thread.currentThread().getName());
+            reloaded.countDown();
+            return "reloaded " + key;
+        });
+        LoadingCache<Object, Object> cache = cache();
+
+        cache.put("52977", "Corba");
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.getIfPresent("52977");
+
+        assertThat(reloaded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(thread.get()).startsWith("cache-reload-");
+    }
+
+    @Test
+    void reloadsBeyondTheQueueAreDroppedAndStaleValuesStillServed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reloads = new AtomicInteger();
+        reloaders.register("meal", key -> {
+            reloads.incrementAndGet();
+            await(release);
+            return "reloaded " + key;
+        });
+        LoadingCache<Object, Object> cache = cache();
+        for (String id : new String[]{"1", "2", "3"}) {
+            cache.put(id, "meal " + id);
+        }
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // One reload running, one queued, the third rejected
+        for (String id : new String[]{"1", "2", "3"}) {
+            assertThat(cache.getIfPresent(id)).isEqualTo("meal " + id);
+        }
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"reloaded 2".equals(cache.getIfPresent("2")) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(cache.getIfPresent("1")).isEqualTo("reloaded 1");
+        assertThat(cache.getIfPresent("2")).isEqualTo("reloaded 2");
+        assertThat(reloads).hasValueGreaterThanOrEqualTo(2);
+    }
+
+    private LoadingCache<Object, Object> cache() {
+        return Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofMinutes(10))
+                .executor(reloaders.executor())
+                .ticker((Ticker) nanos::get)
+                .build(reloaders.loaderFor("meal"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mealdbexplorer.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshOnlyCaffeineCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LoadingCache<Object, Object> nativeCache;
+    private RefreshOnlyCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheReloaders reloaders = new CacheReloaders(1, 1);
+        reloaders.register("meal", key -> "reloaded " + key);
+
+        nativeCache = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofMinutes(10))
+                .executor(Runnable::run)
+                .ticker((Ticker) nanos::get)
+                .recordStats()
+                .build(reloaders.loaderFor("meal"));
+        cache = new RefreshOnlyCaffeineCache("meal", nativeCache, true);
+    }
+
+    @Test
+    void aMissIsNotALoad() {
+        assertThat(cache.get("52977")).isNull();
+
+        assertThat(nativeCache.stats().missCount()).isEqualTo(1);
+        assertThat(nativeCache.stats().loadCount()).isZero();
+    }
+
+    @Test
+    void staleEntriesAreReloaded() {
+        cache.put("52977", "Corba");
+        assertThat(cache.get("52977").get()).isEqualTo("Corba");
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.get("52977");
+
+        assertThat(cache.get("52977").get()).isEqualTo("reloaded 52977");
+        assertThat(nativeCache.stats().loadSuccessCount()).isEqualTo(1);
+        assertThat(nativeCache.stats().loadFailureCount()).isZero();
+    }
+}
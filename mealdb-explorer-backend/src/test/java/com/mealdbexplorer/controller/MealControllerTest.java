@@ -0,0 +1,303 @@
+package com.mealdbexplorer.controller;
+
+import com.mealdbexplorer.config.CacheConfig;
+import com.mealdbexplorer.config.CacheProperties;
+import com.mealdbexplorer.config.CacheReloaders;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.MatchResult;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.MealSummary;
+import com.mealdbexplorer.exception.InvalidRequestParameterException;
+import com.mealdbexplorer.mapper.ResponseMapper;
+import com.mealdbexplorer.service.matcher.MatcherService;
+import com.mealdbexplorer.service.meal.MealService;
+import com.mealdbexplorer.service.meal.PopularityTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MealController.class)
+class MealControllerTest {
+
+    private static final Meal CORBA = Meal.builder()
+            .id("52977")
+            .name("Corba")
+            .category("Side")
+            .area("Turkish")
+            .instructions("Pick through your lentils.")
+            .thumbnailUrl("https://www.themealdb.com/images/media/meals/58oia61564916529.jpg")
+            .ingredients(List.of(Ingredient.builder().name("Lentils").measure("1 cup").build()))
+            .tags(List.of("Soup"))
+            .build();
+    private static final Meal KUMPIR = Meal.builder()
+            .id("52978")
+            .name("Kumpir")
+            .category("Side")
+            .area("Turkish")
+            .ingredients(List.of(Ingredient.builder().name("Potatoes").measure("2 large").build()))
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private MealService mealService;
+
+    @MockBean
+    private MatcherService matcherService;
+
+    @MockBean
+    private PopularityTracker popularityTracker;
+
+    @TestConfiguration
+    @EnableConfigurationProperties(CacheProperties.class)
+    @Import({ResponseMapper.class, ResponseCaching.class, RenderedResponseCache.class})
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager(CacheProperties cacheProperties) {
+            return new CacheConfig().cacheManager(cacheProperties, new CacheReloaders(1, 1));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(mealService.getMealsByCategory("Side")).thenReturn(List.of(CORBA, KUMPIR));
+        when(mealService.getAllCategories()).thenReturn(List.of(Category.builder().id("1").name("Side").build()));
+        when(mealService.getMealByIdAsync("52977")).thenReturn(CompletableFuture.completedFuture(CORBA));
+        when(mealService.summarize(anyList())).thenAnswer(invocation -> invocation.<List<Meal>>getArgument(0).stream()
+                .map(MealSummary::of)
+                .toList());
+    }
+
+    @Test
+    void categoryListAnswersAMatchingIfNoneMatchWith304() throws Exception {
+        String etag = mockMvc.perform(get("/api/meals/category/Side"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Corba"))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/meals/category/Side").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void changedContentGetsANewEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/meals/category/Side"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(mealService.getMealsByCategory("Side")).thenReturn(List.of(CORBA));
+        mockMvc.perform(get("/api/meals/category/Side").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void categoriesAnswerAMatchingIfNoneMatchWith304() throws Exception {
+        String etag = mockMvc.perform(get("/api/meals/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/meals/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void mealDetailAnswersAMatchingIfNoneMatchWith304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/meals/52977"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Corba"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult conditional = mockMvc.perform(get("/api/meals/52977").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(conditional))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void fieldsProjectionKeepsOnlyTheNamedProperties() throws Exception {
+        mockMvc.perform(get("/api/meals/category/Side").param("fields", "name,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("52977"))
+                .andExpect(jsonPath("$[0].name").value("Corba"))
+                .andExpect(jsonPath("$[1].name").value("Kumpir"))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-id+name\"")));
+    }
+
+    @Test
+    void summaryLeavesOutInstructionsIngredientsAndTags() throws Exception {
+        mockMvc.perform(get("/api/meals/category/Side").param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Corba"))
+                .andExpect(jsonPath("$[0].area").value("Turkish"))
+                .andExpect(jsonPath("$[0].instructions").doesNotExist())
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+                .andExpect(jsonPath("$[0].tags").doesNotExist());
+    }
+
+    @Test
+    void equivalentFieldListsShareOneEtagAndDifferentOnesDoNot() throws Exception {
+        String canonical = etagFor("/api/meals/category/Side", "id,name");
+
+        assertThat(etagFor("/api/meals/category/Side", " name , id,name,")).isEqualTo(canonical);
+        assertThat(etagFor("/api/meals/category/Side", "id")).isNotEqualTo(canonical);
+        assertThat(etagFor("/api/meals/category/Side", "summary")).isNotEqualTo(canonical);
+        assertThat(etagFor("/api/meals/category/Side", null))
+                .isNotEqualTo(canonical)
+                .isEqualTo(etagFor("/api/meals/category/Side", " "));
+    }
+
+    @Test
+    void eachRepresentationIsRenderedFromItsOwnCacheEntry() throws Exception {
+        etagFor("/api/meals/category/Side", "id");
+
+        mockMvc.perform(get("/api/meals/category/Side").param("fields", "name"))
+                .andExpect(jsonPath("$[0].length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Corba"));
+    }
+
+    @Test
+    void gzipIsOnlySentWhereItsQualityIsAboveZero() throws Exception {
+        mockMvc.perform(get("/api/meals/categories").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/meals/categories").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[0].name").value("Side"));
+    }
+
+    @Test
+    void renderedBodiesAreHeldInTheBudgetedCache() throws Exception {
+        String etag = mockMvc.perform(get("/api/meals/categories"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> bodies =
+                ((CaffeineCache) cacheManager.getCache("renderedResponses")).getNativeCache();
+        assertThat(bodies.getIfPresent("categories" + etag)).isNotNull();
+        assertThat(bodies.policy().eviction().orElseThrow().weightedSize().getAsLong()).isGreaterThan(0);
+    }
+
+    @Test
+    void batchMatchesCountTowardsPopularity() throws Exception {
+        MatchResult corba = MatchResult.builder().meal(CORBA).matchPercentage(100.0)
+                .matchedIngredients(List.of("Lentils")).missingIngredients(List.of()).build();
+        MatchResult kumpir = MatchResult.builder().meal(KUMPIR).matchPercentage(100.0)
+                .matchedIngredients(List.of("Potatoes")).missingIngredients(List.of()).build();
+        when(matcherService.findMatchingMealsBatch(anyList())).thenReturn(List.of(List.of(corba), List.of(kumpir)));
+
+        mockMvc.perform(post("/api/meals/what-can-i-cook/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [{\"ingredients\": [\"lentils\"]}, {\"ingredients\": [\"potatoes\"]}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1][0].meal.name").value("Kumpir"));
+
+        verify(popularityTracker).recordMatches(List.of(corba));
+        verify(popularityTracker).recordMatches(List.of(kumpir));
+    }
+
+    @Test
+    void streamedMatchesCountTowardsPopularityAsTheyAreWritten() throws Exception {
+        MatchResult corba = MatchResult.builder().meal(CORBA).matchPercentage(100.0)
+                .matchedIngredients(List.of("Lentils")).missingIngredients(List.of()).build();
+        MatchResult kumpir = MatchResult.builder().meal(KUMPIR).matchPercentage(50.0)
+                .matchedIngredients(List.of()).missingIngredients(List.of("Potatoes")).build();
+        when(matcherService.streamMatchingMeals(anyList(), any(), any(), any())).thenReturn(Stream.of(corba, kumpir));
+
+        MvcResult started = mockMvc.perform(post("/api/meals/what-can-i-cook")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content("{\"ingredients\": [\"lentils\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+
+        assertThat(started.getResponse().getContentAsString().lines()).hasSize(2);
+        verify(popularityTracker).recordMatch(0, corba);
+        verify(popularityTracker).recordMatch(1, kumpir);
+    }
+
+    @Test
+    void batchesOverTheResultCapAreRejectedWith400() throws Exception {
+        when(matcherService.findMatchingMealsBatch(anyList()))
+                .thenThrow(new InvalidRequestParameterException("requests", "A batch can return at most 5000 results"));
+
+        mockMvc.perform(post("/api/meals/what-can-i-cook/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [{\"ingredients\": [\"lentils\"], \"limit\": 500}]}"))
+                .andExpect(status().isBadRequest());
+        verify(popularityTracker, never()).recordMatches(anyList());
+    }
+
+    @Test
+    void unknownFieldsAreRejectedWith400() throws Exception {
+        for (String fields : new String[]{"jE", "tVmmary", "name,calories", "summary,name"}) {
+            mockMvc.perform(get("/api/meals/category/Side").param("fields", fields))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.details.fields").exists());
+        }
+        mockMvc.perform(get("/api/meals/popular").param("fields", "nmae"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void notModifiedSummaryIsNotMapped() throws Exception {
+        String etag = etagFor("/api/meals/category/Side", "summary");
+        clearInvocations(mealService);
+
+        mockMvc.perform(get("/api/meals/category/Side").param("fields", "summary")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(mealService, never()).summarize(anyList());
+    }
+
+    private String etagFor(String path, String fields) throws Exception {
+        return mockMvc.perform(fields != null ? get(path).param("fields", fields) : get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
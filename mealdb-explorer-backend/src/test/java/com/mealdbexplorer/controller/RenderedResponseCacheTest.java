@@ -0,0 +1,36 @@
+package com.mealdbexplorer.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static com.mealdbexplorer.controller.RenderedResponseCache.acceptsGzip;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedResponseCacheTest {
+
+    @Test
+    void gzipIsAcceptedWhenNamedOrCoveredByTheWildcard() {
+        assertThat(acceptsGzip("gzip")).isTrue();
+        assertThat(acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(acceptsGzip("x-gzip")).isTrue();
+        assertThat(acceptsGzip("br, *;q=0.1")).isTrue();
+    }
+
+    @Test
+    void aZeroQualityRefusesGzip() {
+        assertThat(acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("gzip; q=0.000, identity")).isFalse();
+        assertThat(acceptsGzip("*;q=0")).isFalse();
+        // An explicit entry overrides the wildcard either way
+        assertThat(acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+
+    @Test
+    void gzipIsNotAssumed() {
+        assertThat(acceptsGzip(null)).isFalse();
+        assertThat(acceptsGzip("")).isFalse();
+        assertThat(acceptsGzip("identity, br")).isFalse();
+        assertThat(acceptsGzip("gzipped")).isFalse();
+        assertThat(acceptsGzip("gzip;q=high")).isFalse();
+    }
+}
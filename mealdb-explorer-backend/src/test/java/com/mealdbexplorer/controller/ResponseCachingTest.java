@@ -0,0 +1,94 @@
+package com.mealdbexplorer.controller;
+
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCachingTest {
+
+    private static final Meal CORBA = Meal.builder().id("52977").name("Corba").build();
+    private static final Meal SUSHI = Meal.builder().id("53065").name("Sushi").build();
+
+    private static Meal.MealBuilder corba() {
+        return Meal.builder().id("52977").name("Corba").category("Side").area("Turkish")
+                .instructions("Pick through your lentils.")
+                .ingredients(List.of(new Ingredient("Lentils", "1 cup")))
+                .tags(List.of("Soup"));
+    }
+
+    @Test
+    void etagFollowsTheContent() {
+        String etag = ResponseCaching.etag(List.of(CORBA, SUSHI));
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(ResponseCaching.etag(List.of(Meal.builder().id("52977").name("Corba").build(), SUSHI)))
+                .isEqualTo(etag);
+        assertThat(ResponseCaching.etag(List.of(SUSHI, CORBA))).isNotEqualTo(etag);
+        assertThat(ResponseCaching.etag(List.of(CORBA))).isNotEqualTo(etag);
+        assertThat(ResponseCaching.etag(List.of(CORBA, Meal.builder().id("53065").name("Sushi Rolls").build())))
+                .isNotEqualTo(etag);
+    }
+
+    @Test
+    void anyChangeToTheBodyChangesTheEtag() {
+        Meal corba = corba().build();
+        String etag = ResponseCaching.etag(corba);
+
+        assertThat(etag).matches("\"[0-9a-f]{64}\"");
+        assertThat(ResponseCaching.etag(corba().build())).isEqualTo(etag);
+        assertThat(ResponseCaching.etag(corba().instructions("Rinse the lentils first.").build())).isNotEqualTo(etag);
+        assertThat(ResponseCaching.etag(corba().ingredients(List.of(new Ingredient("Lentils", "2 cups"))).build()))
+                .isNotEqualTo(etag);
+        assertThat(ResponseCaching.etag(corba().tags(List.of("Soup", "Side")).build())).isNotEqualTo(etag);
+        assertThat(ResponseCaching.etag(corba().area(null).build())).isNotEqualTo(etag);
+        // Field boundaries are part of the digest
+        assertThat(ResponseCaching.etag(corba().name("Corb").category("aSide").build()))
+                .isNotEqualTo(ResponseCaching.etag(corba().name("Corba").category("Side").build()));
+    }
+
+    @Test
+    void categoriesHashTheirDescription() {
+        Category beef = new Category("1", "Beef", "https://example.org/beef.png", "Beef is the culinary name for meat from cattle.");
+
+        assertThat(ResponseCaching.etag(List.of(beef)))
+                .isEqualTo(ResponseCaching.etag(List.of(new Category("1", "Beef", "https://example.org/beef.png",
+                        "Beef is the culinary name for meat from cattle."))))
+                .isNotEqualTo(ResponseCaching.etag(List.of(new Category("1", "Beef", "https://example.org/beef.png",
+                        "Beef is meat from cattle."))));
+    }
+
+    @Test
+    void valuesWithoutStableFieldsAreRejected() {
+        assertThatThrownBy(() -> ResponseCaching.etag(List.of("Corba")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void representationsOfTheSameValueNeverShareAnEtag() {
+        List<Meal> meals = List.of(CORBA, SUSHI);
+
+        assertThat(ResponseCaching.etag(meals, null)).isEqualTo(ResponseCaching.etag(meals));
+        assertThat(ResponseCaching.etag(meals, "summary"))
+                .isNotEqualTo(ResponseCaching.etag(meals))
+                .endsWith("-summary\"");
+        assertThat(ResponseCaching.etag(meals, "id+name")).isNotEqualTo(ResponseCaching.etag(meals, "id"));
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparisonOverAListOfTags() {
+        String etag = "\"5d1a-summary\"";
+
+        assertThat(ResponseCaching.notModified(etag, etag)).isTrue();
+        assertThat(ResponseCaching.notModified("W/" + etag, etag)).isTrue();
+        assertThat(ResponseCaching.notModified("\"other\", " + etag, etag)).isTrue();
+        assertThat(ResponseCaching.notModified("*", etag)).isTrue();
+        assertThat(ResponseCaching.notModified("\"5d1a\"", etag)).isFalse();
+        assertThat(ResponseCaching.notModified(null, etag)).isFalse();
+    }
+}
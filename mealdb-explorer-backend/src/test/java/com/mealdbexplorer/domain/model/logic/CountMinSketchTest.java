@@ -0,0 +1,92 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimatesNeverUndercountAndStayWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        Map<String, Long> exact = skewedStream(sketch);
+        long total = exact.values().stream().mapToLong(Long::longValue).sum();
+
+        // Expected overcount is about e * total / width per row; the minimum over 4 rows is far tighter
+        long bound = (long) Math.ceil(Math.E * total / 1024);
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).as(entry.getKey()).isBetween(entry.getValue(), entry.getValue() + bound);
+        }
+        assertThat(sketch.estimate("never-seen")).isLessThanOrEqualTo(bound);
+    }
+
+    @Test
+    void addReturnsTheNewEstimate() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+
+        assertThat(sketch.add("52772")).isEqualTo(1);
+        assertThat(sketch.add("52772")).isEqualTo(2);
+        assertThat(sketch.estimate("52772")).isEqualTo(2);
+    }
+
+    @Test
+    void halvingHalvesEveryCount() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+        for (int i = 0; i < 9; i++) {
+            sketch.add("52772");
+        }
+
+        sketch.halve();
+        assertThat(sketch.estimate("52772")).isEqualTo(4);
+        sketch.halve();
+        sketch.halve();
+        sketch.halve();
+        assertThat(sketch.estimate("52772")).isZero();
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.add("52772");
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(sketch.estimate("52772")).isEqualTo(40_000);
+    }
+
+    // Meal ids with Zipf-like frequencies: the i-th id is seen about 2000 / i times
+    private static Map<String, Long> skewedStream(CountMinSketch sketch) {
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 1; i <= 500; i++) {
+            String id = String.valueOf(52700 + i);
+            long occurrences = Math.max(1, 2000 / i);
+            for (long n = 0; n < occurrences; n++) {
+                sketch.add(id);
+            }
+            exact.put(id, occurrences);
+        }
+        return exact;
+    }
+}
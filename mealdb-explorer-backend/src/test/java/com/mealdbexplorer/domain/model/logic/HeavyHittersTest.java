@@ -0,0 +1,84 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void keepsTheMostFrequentKeysOfAShuffledSkewedStream() {
+        // The i-th id is seen about 2000 / i times, interleaved so heavy ids do not arrive first
+        List<String> stream = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            for (int n = 0; n < Math.max(1, 2000 / i); n++) {
+                stream.add(String.valueOf(52700 + i));
+            }
+        }
+        Collections.shuffle(stream, new Random(7));
+
+        CountMinSketch sketch = new CountMinSketch(4096, 4);
+        HeavyHitters heavyHitters = new HeavyHitters(20);
+        for (String id : stream) {
+            heavyHitters.offer(id, sketch.add(id));
+        }
+
+        assertThat(heavyHitters.size()).isEqualTo(20);
+        assertThat(heavyHitters.top(10))
+                .containsExactly("52701", "52702", "52703", "52704", "52705",
+                        "52706", "52707", "52708", "52709", "52710");
+    }
+
+    @Test
+    void aNewKeyMustBeatTheLowestTrackedCountToEnter() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        heavyHitters.offer("a", 5);
+        heavyHitters.offer("b", 3);
+
+        heavyHitters.offer("c", 3);
+        assertThat(heavyHitters.top(10)).containsExactly("a", "b");
+
+        heavyHitters.offer("c", 4);
+        assertThat(heavyHitters.top(10)).containsExactly("a", "c");
+    }
+
+    @Test
+    void trackedKeysKeepTheirHighestEstimate() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        heavyHitters.offer("a", 5);
+        heavyHitters.offer("b", 3);
+
+        heavyHitters.offer("b", 7);
+        heavyHitters.offer("b", 2);
+
+        assertThat(heavyHitters.top(10)).containsExactly("b", "a");
+    }
+
+    @Test
+    void tiesAreOrderedByKey() {
+        HeavyHitters heavyHitters = new HeavyHitters(3);
+        heavyHitters.offer("c", 2);
+        heavyHitters.offer("a", 2);
+        heavyHitters.offer("b", 2);
+
+        assertThat(heavyHitters.top(2)).containsExactly("a", "b");
+    }
+
+    @Test
+    void halvingDropsKeysThatDecayToZeroAndReopensAdmission() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        heavyHitters.offer("a", 4);
+        heavyHitters.offer("b", 1);
+
+        heavyHitters.halve();
+        assertThat(heavyHitters.top(10)).containsExactly("a");
+
+        heavyHitters.offer("c", 1);
+        assertThat(heavyHitters.top(10)).containsExactly("a", "c");
+    }
+}
@@ -0,0 +1,165 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Ingredient;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientDictionaryTest {
+
+    private static final List<String> VOCABULARY = List.of(
+            "Chicken", "Chicken Breast", "Chicken Stock", "Egg", "Eggs", "Egg Yolks",
+            "Rice", "Rice Vinegar", "Brown Rice", "Tomato", "Tomatoes", "Cherry Tomatoes",
+            "Oil", "Olive Oil", "Soy Sauce", "Sauce", "Salt", "Sea Salt", "Butter", "Peanut Butter");
+
+    @Test
+    void resolveMatchesTheStringRuleForEveryOrderOfRegistration() {
+        List<String> terms = List.of("chicken", "egg", "rice", "tomatoes", "oil", "salt", "butter",
+                "chicken breast fillets", "brown", "soy", "a", "lamb");
+
+        for (List<String> order : List.of(VOCABULARY, reversed(VOCABULARY))) {
+            IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+            order.forEach(dictionary::register);
+
+            for (String term : terms) {
+                assertThat(resolvedNames(dictionary, Set.of(term)))
+                        .as("term '%s', registered %s", term, order == VOCABULARY ? "in order" : "reversed")
+                        .isEqualTo(stringRule(dictionary, Set.of(term)));
+            }
+            assertThat(resolvedNames(dictionary, Set.of("egg", "olive oil")))
+                    .isEqualTo(stringRule(dictionary, Set.of("egg", "olive oil")));
+        }
+    }
+
+    @Test
+    void theContainmentGraphGrowsWithTheVocabulary() {
+        IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+        dictionary.register("Rice");
+        long[] before = dictionary.resolve(Set.of("rice"));
+
+        // A later ingredient is linked to the ones it contains, and they to it
+        dictionary.register("Brown Rice");
+        dictionary.register("Vinegar");
+
+        assertThat(resolvedNames(dictionary, Set.of("rice"))).containsExactly("brown rice", "rice");
+        assertThat(resolvedNames(dictionary, Set.of("brown rice"))).containsExactly("brown rice", "rice");
+        assertThat(resolvedNames(dictionary, Set.of("vinegar"))).containsExactly("vinegar");
+        assertThat(IngredientDictionary.contains(before, dictionary.idOf("brown rice"))).isFalse();
+    }
+
+    @Test
+    void idsAreStableAndCanonical() {
+        IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+        int id = dictionary.register("Olive Oil");
+
+        assertThat(dictionary.register("  olive oil ")).isEqualTo(id);
+        assertThat(dictionary.idOf("OLIVE OIL")).isEqualTo(id);
+        assertThat(dictionary.nameOf(id)).isEqualTo("olive oil");
+        assertThat(dictionary.idOf("lard")).isEqualTo(-1);
+    }
+
+    @Test
+    void encodingKeepsRecipeOrderAndDuplicates() {
+        IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+        int salt = dictionary.register("Salt");
+
+        int[] encoded = dictionary.encode(List.of(
+                Ingredient.builder().name("Rice").build(),
+                Ingredient.builder().name(" salt").build(),
+                Ingredient.builder().name("Rice").build()));
+
+        assertThat(encoded).containsExactly(dictionary.idOf("rice"), salt, dictionary.idOf("rice"));
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.encode(null)).isEmpty();
+    }
+
+    @Test
+    void bitSetsHoldIdsAcrossWords() {
+        long[] bits = IngredientDictionary.newBitSet(130);
+        assertThat(bits).hasSize(3);
+
+        bits[64 >>> 6] |= 1L << 64;
+        assertThat(IngredientDictionary.contains(bits, 64)).isTrue();
+        assertThat(IngredientDictionary.contains(bits, 0)).isFalse();
+        assertThat(IngredientDictionary.contains(bits, 128)).isFalse();
+        // Ids past the end, e.g. registered after the set was sized, are simply absent
+        assertThat(IngredientDictionary.contains(bits, 200)).isFalse();
+    }
+
+    @Test
+    void misspeltTermsResolveToTheirNearestIngredients() {
+        IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+        VOCABULARY.forEach(dictionary::register);
+
+        assertThat(resolvedNames(dictionary, Set.of("chiken"))).contains("chicken", "chicken breast", "chicken stock");
+        assertThat(resolvedNames(dictionary, Set.of("tomatto"))).contains("tomato", "tomatoes", "cherry tomatoes");
+        // Contains "tomato", so the string rule answers and similarity is not consulted
+        assertThat(resolvedNames(dictionary, Set.of("tomatos"))).containsExactly("tomato");
+        assertThat(resolvedNames(dictionary, Set.of("xylophone"))).isEmpty();
+    }
+
+    @Test
+    void nearMissesDoNotMatch() {
+        List<List<String>> pairs = List.of(
+                List.of("chicken thigh", "Chicken Breast"),
+                List.of("white rice", "White Wine"),
+                List.of("beer", "Beef"),
+                List.of("pork", "Port"));
+
+        for (List<String> pair : pairs) {
+            for (boolean reversed : new boolean[]{false, true}) {
+                String term = reversed ? IngredientMatcher.normalize(pair.get(1)) : pair.get(0);
+                String ingredient = reversed ? pair.get(0) : pair.get(1);
+                IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+                dictionary.register(ingredient);
+
+                assertThat(resolvedNames(dictionary, Set.of(term)))
+                        .as("'%s' against '%s'", term, ingredient)
+                        .isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void termsMatchedByTheStringRuleAreNotWidenedBySimilarity() {
+        IngredientDictionary dictionary = new IngredientDictionary(0.3, 3);
+        VOCABULARY.forEach(dictionary::register);
+
+        // "chicken" is contained in the term, so its relatives such as "chicken breast" stay out
+        assertThat(resolvedNames(dictionary, Set.of("chicken thigh"))).containsExactly("chicken");
+        assertThat(resolvedNames(dictionary, Set.of("brown rice flour"))).containsExactly("brown rice", "rice");
+    }
+
+    private static Set<String> resolvedNames(IngredientDictionary dictionary, Set<String> pantry) {
+        long[] bits = dictionary.resolve(pantry);
+        Set<String> names = new TreeSet<>();
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (IngredientDictionary.contains(bits, id)) {
+                names.add(dictionary.nameOf(id));
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> stringRule(IngredientDictionary dictionary, Set<String> pantry) {
+        Set<String> names = new TreeSet<>();
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (IngredientMatcher.matchesAny(dictionary.nameOf(id), pantry)) {
+                names.add(dictionary.nameOf(id));
+            }
+        }
+        return names;
+    }
+
+    private static List<String> reversed(List<String> names) {
+        List<String> copy = new ArrayList<>(names);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
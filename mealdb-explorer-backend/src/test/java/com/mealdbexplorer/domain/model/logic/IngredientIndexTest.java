@@ -0,0 +1,73 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientIndexTest {
+
+    // Fuzzy matching off, so pantry terms resolve by the string rule alone
+    private final IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+    private List<Meal> meals;
+    private IngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meals = new ArrayList<>(List.of(
+                meal("1", "Rice", "Eggs", "Soy Sauce"),
+                meal("2", "Lentils", "Onion", "Carrots"),
+                meal("3", "Salt", "Rice", "Salt")));
+        meals.add(1, null);
+        index = IngredientIndex.build(meals, dictionary);
+    }
+
+    @Test
+    void countsMatchedIngredientsPerMealPosition() {
+        assertThat(index.countMatchedIngredients(pantry("rice", "onion")))
+                .containsExactly(1, 0, 1, 1);
+        assertThat(index.countMatchedIngredients(pantry("lentils", "onion", "carrots")))
+                .containsExactly(0, 0, 3, 0);
+    }
+
+    @Test
+    void duplicateIngredientsAreCountedPerOccurrence() {
+        // Like IngredientMatcher, which counts every entry of the ingredient list
+        assertThat(index.countMatchedIngredients(pantry("salt"))).containsExactly(0, 0, 0, 2);
+    }
+
+    @Test
+    void mealsWithoutIdsAreEncodedOnBuild() {
+        assertThat(meals.get(0).getIngredientIds())
+                .containsExactly(dictionary.idOf("rice"), dictionary.idOf("eggs"), dictionary.idOf("soy sauce"));
+        assertThat(index.getMeals()).isSameAs(meals);
+    }
+
+    @Test
+    void ingredientsRegisteredAfterTheBuildMatchNothing() {
+        dictionary.register("Garlic");
+
+        assertThat(index.countMatchedIngredients(pantry("garlic", "eggs"))).containsExactly(1, 0, 0, 0);
+        assertThat(index.countMatchedIngredients(IngredientDictionary.newBitSet(0))).containsOnly(0);
+    }
+
+    private long[] pantry(String... terms) {
+        return dictionary.resolve(List.of(terms));
+    }
+
+    private static Meal meal(String id, String... ingredients) {
+        return Meal.builder()
+                .id(id)
+                .name("Meal " + id)
+                .ingredients(Arrays.stream(ingredients)
+                        .map(ingredient -> Ingredient.builder().name(ingredient).measure("1").build())
+                        .toList())
+                .build();
+    }
+}
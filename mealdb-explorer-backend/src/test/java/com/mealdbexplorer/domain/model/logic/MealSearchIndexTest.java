@@ -0,0 +1,84 @@
+package com.mealdbexplorer.domain.model.logic;
+
+import com.mealdbexplorer.domain.model.Meal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MealSearchIndexTest {
+
+    private static final List<Meal> MEALS = List.of(
+            meal("52772", "Teriyaki Chicken Casserole", "Chicken", "Japanese", "Meat", "Casserole"),
+            meal("52795", "Chicken Handi", "Chicken", "Indian", "Curry"),
+            meal("52940", "Brown Stew Chicken", "Chicken", "Jamaican", "Stew"),
+            meal("52977", "Corba", "Side", "Turkish", "Soup"),
+            meal("53065", "Sushi", "Seafood", "Japanese"),
+            meal("52854", "Pancakes", "Dessert", "American", "Breakfast", "Desert", "Sweet"),
+            meal("52807", "Baingan Bharta", "Vegetarian", "Indian", "Spicy"),
+            meal("52959", "Baked salmon with fennel & tomatoes", "Seafood", "British", "Paleo"),
+            meal("52965", "Potatoes for Breakfast", "Side", "Irish"));
+
+    private final MealSearchIndex index = MealSearchIndex.build(MEALS);
+
+    @Test
+    void everyWordMustMatchAsAPrefix() {
+        assertThat(ids(index.search("chick", 10))).containsExactlyInAnyOrder("52772", "52795", "52940");
+        assertThat(ids(index.search("chicken jap", 10))).containsExactly("52772");
+        assertThat(ids(index.search("chicken sushi", 10))).isEmpty();
+    }
+
+    @Test
+    void exactAndLeadingNameMatchesComeFirst() {
+        assertThat(ids(index.search("Chicken Handi", 10))).containsExactly("52795");
+        assertThat(ids(index.search("chicken", 10)).get(0)).isEqualTo("52795");
+        assertThat(ids(index.search("sushi", 10))).containsExactly("53065");
+    }
+
+    @Test
+    void namesOutrankTagsCategoriesAndAreas() {
+        // A name word beats a tag
+        assertThat(ids(index.search("breakfast", 10))).containsExactly("52965", "52854");
+        assertThat(ids(index.search("desert", 10))).containsExactly("52854");
+        // Equal scores are ordered by name
+        assertThat(ids(index.search("japanese", 10))).containsExactly("53065", "52772");
+    }
+
+    @Test
+    void fallsBackToASubstringOfTheName() {
+        assertThat(ids(index.search("ncake", 10))).containsExactly("52854");
+        assertThat(ids(index.search("with fen", 10))).containsExactly("52959");
+    }
+
+    @Test
+    void caseSpacingAndPunctuationDoNotMatter() {
+        assertThat(ids(index.search("  FENNEL & Tomatoes ", 10))).containsExactly("52959");
+    }
+
+    @Test
+    void limitsAndEmptyQueries() {
+        assertThat(index.search("chicken", 2)).hasSize(2);
+        assertThat(index.search("chicken", 0)).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+        // No word left after splitting, so no prefix of "" and no name substring either
+        assertThat(index.search("&", 10)).isEmpty();
+        assertThat(index.search(" - !? ", 10)).isEmpty();
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    private static List<String> ids(List<Meal> meals) {
+        return meals.stream().map(Meal::getId).toList();
+    }
+
+    private static Meal meal(String id, String name, String category, String area, String... tags) {
+        return Meal.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .area(area)
+                .tags(List.of(tags))
+                .build();
+    }
+}
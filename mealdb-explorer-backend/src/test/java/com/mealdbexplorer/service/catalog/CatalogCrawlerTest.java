@@ -0,0 +1,118 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.adapter.themealdb.TheMealDbClient;
+import com.mealdbexplorer.adapter.themealdb.dto.CategoryDbDto;
+import com.mealdbexplorer.adapter.themealdb.dto.CategoryDbResponse;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.exception.ExternalApiException;
+import com.mealdbexplorer.mapper.CategoryMapper;
+import com.mealdbexplorer.service.meal.MealHydrator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogCrawlerTest {
+
+    private static final Meal CORBA = Meal.builder().id("52977").name("Corba").category("Side").build();
+    private static final Meal KUMPIR = Meal.builder().id("52978").name("Kumpir").category("Side").build();
+
+    private final TheMealDbClient mealDbClient = mock(TheMealDbClient.class);
+    private final MealHydrator mealHydrator = new MealHydrator(4, 5000, 2, 5000, 100, 1000);
+    private final CatalogCrawler crawler = new CatalogCrawler(mealDbClient, new CategoryMapper(), mealHydrator);
+
+    @BeforeEach
+    void setUp() {
+        when(mealDbClient.getAllCategories()).thenReturn(categories("Side"));
+        when(mealDbClient.searchMealsByFirstLetter(anyString())).thenReturn(List.of());
+        when(mealDbClient.searchMealsByFirstLetter("c")).thenReturn(List.of(CORBA));
+        when(mealDbClient.getMealsByCategory("Side")).thenReturn(List.of(summary(CORBA)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealHydrator.shutdown();
+    }
+
+    @Test
+    void aCrawlWithEveryPageIsComplete() {
+        CatalogCrawler.CrawlResult result = crawler.crawl();
+
+        assertThat(result.getMeals()).containsExactly(CORBA);
+        assertThat(result.getCategories()).extracting("name").containsExactly("Side");
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    void mealsOnlyReachableThroughACategoryAreLookedUp() {
+        when(mealDbClient.getMealsByCategory("Side")).thenReturn(List.of(summary(CORBA), summary(KUMPIR)));
+        when(mealDbClient.getMealById("52978")).thenReturn(List.of(KUMPIR));
+
+        CatalogCrawler.CrawlResult result = crawler.crawl();
+
+        assertThat(result.getMeals()).containsExactly(CORBA, KUMPIR);
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    void aFailedLetterPageMakesTheCrawlIncomplete() {
+        when(mealDbClient.searchMealsByFirstLetter("k")).thenThrow(new ExternalApiException("Failed to search meals"));
+
+        CatalogCrawler.CrawlResult result = crawler.crawl();
+
+        assertThat(result.getMeals()).containsExactly(CORBA);
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void aFailedCategoryPageMakesTheCrawlIncomplete() {
+        when(mealDbClient.getAllCategories()).thenReturn(categories("Side", "Dessert"));
+        when(mealDbClient.getMealsByCategory("Dessert")).thenThrow(new ExternalApiException("Failed to fetch meals"));
+
+        assertThat(crawler.crawl().isComplete()).isFalse();
+    }
+
+    @Test
+    void aMissingDetailLookupMakesTheCrawlIncomplete() {
+        when(mealDbClient.getMealsByCategory("Side")).thenReturn(List.of(summary(CORBA), summary(KUMPIR)));
+        when(mealDbClient.getMealById("52978")).thenReturn(List.of());
+
+        CatalogCrawler.CrawlResult result = crawler.crawl();
+
+        assertThat(result.getMeals()).containsExactly(CORBA);
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void withoutCategoriesTheCrawlIsIncomplete() {
+        when(mealDbClient.getAllCategories()).thenThrow(new ExternalApiException("Failed to fetch categories"));
+
+        CatalogCrawler.CrawlResult result = crawler.crawl();
+
+        assertThat(result.getMeals()).containsExactly(CORBA);
+        assertThat(result.getCategories()).isEmpty();
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    private static Meal summary(Meal meal) {
+        return Meal.builder().id(meal.getId()).name(meal.getName()).build();
+    }
+
+    private static CategoryDbResponse categories(String... names) {
+        CategoryDbResponse response = new CategoryDbResponse();
+        response.setCategories(Arrays.stream(names).map(name -> {
+            CategoryDbDto dto = new CategoryDbDto();
+            dto.setIdCategory(String.valueOf(name.length()));
+            dto.setStrCategory(name);
+            return dto;
+        }).toList());
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogServiceTest {
+
+    private static final List<Category> CATEGORIES = List.of(Category.builder().id("1").name("Side").build());
+
+    private final CatalogCrawler crawler = mock(CatalogCrawler.class);
+    private final CatalogSnapshotStore snapshotStore = mock(CatalogSnapshotStore.class);
+    private final CatalogService catalogService =
+            new CatalogService(crawler, new IngredientDictionary(0.5, 3), snapshotStore, true, 1000);
+
+    @AfterEach
+    void tearDown() {
+        catalogService.shutdown();
+    }
+
+    @Test
+    void unchangedMealsKeepTheirInstances() {
+        crawled(true, meal("1", "Corba", "Lentils"), meal("2", "Kumpir", "Potatoes"));
+        Catalog first = catalogService.refresh();
+        Meal corba = first.getMealsById().get("1");
+
+        crawled(true, meal("1", "Corba", "Lentils"), meal("2", "Kumpir", "Potatoes", "Butter"), meal("3", "Burek", "Filo"));
+        Catalog second = catalogService.refresh();
+
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getMealsById().get("1")).isSameAs(corba);
+        assertThat(second.getSummariesById().get("1")).isSameAs(first.getSummariesById().get("1"));
+        assertThat(second.getSearchIndex().search("burek", 10)).extracting(Meal::getId).containsExactly("3");
+        assertThat(second.getMealsById().get("2").getIngredients()).hasSize(2);
+        assertThat(second.getMealsById()).containsOnlyKeys("1", "2", "3");
+        verify(snapshotStore, times(2)).write(any());
+    }
+
+    @Test
+    void anIdenticalCrawlKeepsTheCurrentVersion() {
+        crawled(true, meal("1", "Corba", "Lentils"));
+        Catalog first = catalogService.refresh();
+
+        crawled(true, meal("1", "Corba", "Lentils"));
+
+        assertThat(catalogService.refresh()).isSameAs(first);
+        verify(snapshotStore, times(1)).write(any());
+    }
+
+    @Test
+    void aCategoryOnlyChangeSharesTheIndexes() {
+        crawled(true, meal("1", "Corba", "Lentils"));
+        Catalog first = catalogService.refresh();
+
+        when(crawler.crawl()).thenReturn(new CatalogCrawler.CrawlResult(List.of(meal("1", "Corba", "Lentils")),
+                List.of(Category.builder().id("1").name("Side").description("Dishes on the side").build()), true));
+        Catalog second = catalogService.refresh();
+
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getIngredientIndex()).isSameAs(first.getIngredientIndex());
+        assertThat(second.getSearchIndex()).isSameAs(first.getSearchIndex());
+    }
+
+    @Test
+    void onlyACompleteCrawlRemovesMeals() {
+        crawled(true, meal("1", "Corba", "Lentils"), meal("2", "Kumpir", "Potatoes"));
+        catalogService.refresh();
+
+        crawled(false, meal("1", "Corba", "Lentils"));
+        assertThat(catalogService.refresh().getMealsById()).containsOnlyKeys("1", "2");
+
+        crawled(true, meal("1", "Corba", "Lentils"));
+        Catalog pruned = catalogService.refresh();
+        assertThat(pruned.getMealsById()).containsOnlyKeys("1");
+        assertThat(pruned.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void anEmptyCrawlNeverReplacesALoadedCatalog() {
+        crawled(true, meal("1", "Corba", "Lentils"));
+        Catalog first = catalogService.refresh();
+
+        when(crawler.crawl()).thenReturn(new CatalogCrawler.CrawlResult(List.of(), List.of(), false));
+
+        assertThat(catalogService.refresh()).isSameAs(first);
+        assertThat(catalogService.getCatalog()).isSameAs(first);
+    }
+
+    @Test
+    void coldStartCallersWaitABoundedTimeForOneSharedCrawl() throws Exception {
+        CatalogService impatient = new CatalogService(crawler, new IngredientDictionary(0.5, 3), snapshotStore, false, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        when(crawler.crawl()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new CatalogCrawler.CrawlResult(List.of(meal("1", "Corba", "Lentils")), CATEGORIES, true);
+        });
+
+        try {
+            assertThatThrownBy(impatient::getCatalog).isInstanceOf(UpstreamUnavailableException.class);
+            assertThatThrownBy(impatient::getCatalog).isInstanceOf(UpstreamUnavailableException.class);
+
+            release.countDown();
+            verify(crawler, timeout(5000)).crawl();
+            while (impatient.getLoadedCatalog().isEmpty()) {
+                Thread.sleep(1);
+            }
+            assertThat(impatient.getCatalog().getMealsById()).containsOnlyKeys("1");
+            verify(crawler, times(1)).crawl();
+            verify(snapshotStore, never()).write(any());
+        } finally {
+            impatient.shutdown();
+        }
+    }
+
+    private void crawled(boolean complete, Meal... meals) {
+        when(crawler.crawl()).thenReturn(new CatalogCrawler.CrawlResult(List.of(meals), CATEGORIES, complete));
+    }
+
+    private static Meal meal(String id, String name, String... ingredients) {
+        return Meal.builder()
+                .id(id)
+                .name(name)
+                .ingredients(Arrays.stream(ingredients)
+                        .map(ingredient -> new Ingredient(ingredient, "1"))
+                        .toList())
+                .tags(List.of())
+                .build();
+    }
+}
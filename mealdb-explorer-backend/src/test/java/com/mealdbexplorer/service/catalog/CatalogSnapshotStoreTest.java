@@ -0,0 +1,170 @@
+package com.mealdbexplorer.service.catalog;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Category;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotStoreTest {
+
+    // magic, format version, catalog version, load time, payload length, CRC32 of header and payload
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 8;
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("catalog.snapshot");
+
+        List<Meal> meals = List.of(
+                Meal.builder()
+                        .id("52772")
+                        .name("Teriyaki Chicken Casserole")
+                        .category("Chicken")
+                        .area("Japanese")
+                        .instructions("Preheat oven to 350° F.")
+                        .thumbnailUrl("https://www.themealdb.com/images/media/meals/wvpsxx1468256321.jpg")
+                        .youtubeUrl("https://www.youtube.com/watch?v=4aZr5hZXP_s")
+                        .ingredients(List.of(
+                                Ingredient.builder().name("soy sauce").measure("3/4 cup").build(),
+                                Ingredient.builder().name("Chicken Breasts").measure("2").build(),
+                                Ingredient.builder().name("Soy Sauce").measure("1 tbs").build()))
+                        .tags(List.of("Meat", "Casserole"))
+                        .build(),
+                Meal.builder()
+                        .id("52977")
+                        .name("Corba")
+                        .category("Side")
+                        .ingredients(List.of(Ingredient.builder().name("Lentils").measure(null).build()))
+                        .tags(List.of())
+                        .build());
+        List<Category> categories = List.of(
+                Category.builder().id("1").name("Beef").description("Beef is the culinary name for meat from cattle").build(),
+                Category.builder().id("2").name("Chicken").build());
+
+        // The writing process already assigned other ids, so ids in the file cannot line up by accident
+        IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+        dictionary.register("Garlic");
+        dictionary.register("Lentils");
+        catalog = new Catalog(42, Instant.ofEpochMilli(1_700_000_000_123L), meals, categories, dictionary);
+        new CatalogSnapshotStore(dictionary, path).write(catalog);
+    }
+
+    @Test
+    void roundTripRestoresTheCatalogInAFreshProcess() {
+        IngredientDictionary dictionary = new IngredientDictionary(0.5, 3);
+        Optional<Catalog> restored = new CatalogSnapshotStore(dictionary, path).read();
+
+        assertThat(restored).isPresent();
+        Catalog snapshot = restored.get();
+        assertThat(snapshot.getVersion()).isEqualTo(42);
+        assertThat(snapshot.getLoadedAt()).isEqualTo(catalog.getLoadedAt());
+        assertThat(snapshot.getCategories()).isEqualTo(catalog.getCategories());
+        assertThat(snapshot.getMeals()).isEqualTo(catalog.getMeals());
+
+        // Ingredient ids are remapped onto the reading process's dictionary
+        for (Meal meal : snapshot.getMeals()) {
+            assertThat(Arrays.stream(meal.getIngredientIds()).mapToObj(dictionary::nameOf).toList())
+                    .isEqualTo(meal.getIngredients().stream().map(Ingredient::getNormalizedName).toList());
+        }
+        assertThat(snapshot.getMeals().get(0).getIngredientIds()).containsExactly(0, 1, 0);
+    }
+
+    @Test
+    void missingFileIsIgnored() throws IOException {
+        Files.delete(path);
+
+        assertThat(read()).isEmpty();
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[HEADER_BYTES + (bytes.length - HEADER_BYTES) / 2] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThat(read()).isEmpty();
+    }
+
+    @Test
+    void corruptedHeaderIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        // Catalog version and load time are only covered by the checksum
+        for (int offset : new int[]{8, 16}) {
+            byte[] corrupted = bytes.clone();
+            corrupted[offset + 7] ^= 0x01;
+            Files.write(path, corrupted);
+
+            assertThat(read()).as("byte %d", offset + 7).isEmpty();
+        }
+    }
+
+    @Test
+    void aFailedWriteLeavesNoTemporaryFile() throws IOException {
+        // A non-empty directory in the snapshot's place makes the final move fail
+        Path blocked = directory.resolve("blocked");
+        Files.createDirectories(blocked.resolve("catalog.snapshot"));
+        Files.writeString(blocked.resolve("catalog.snapshot").resolve("keep"), "keep");
+
+        new CatalogSnapshotStore(new IngredientDictionary(0.5, 3), blocked.resolve("catalog.snapshot")).write(catalog);
+
+        try (Stream<Path> files = Files.list(blocked)) {
+            assertThat(files).containsExactly(blocked.resolve("catalog.snapshot"));
+        }
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThat(read()).isEmpty();
+
+        Files.write(path, Arrays.copyOf(bytes, HEADER_BYTES - 1));
+        assertThat(read()).isEmpty();
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[0] = 'X';
+        Files.write(path, bytes);
+
+        assertThat(read()).isEmpty();
+    }
+
+    @Test
+    void unsupportedFormatVersionIsRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        // Version 1 files checksummed the payload only
+        for (int formatVersion : new int[]{1, 3}) {
+            ByteBuffer.wrap(bytes).putInt(4, formatVersion);
+            Files.write(path, bytes);
+
+            assertThat(read()).as("format version %d", formatVersion).isEmpty();
+        }
+    }
+
+    private Optional<Catalog> read() {
+        return new CatalogSnapshotStore(new IngredientDictionary(0.5, 3), path).read();
+    }
+}
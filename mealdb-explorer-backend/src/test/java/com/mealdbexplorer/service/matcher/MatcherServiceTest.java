@@ -0,0 +1,157 @@
+package com.mealdbexplorer.service.matcher;
+
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Ingredient;
+import com.mealdbexplorer.domain.model.MatchQuery;
+import com.mealdbexplorer.domain.model.MatchResult;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.domain.model.logic.IngredientMatcher;
+import com.mealdbexplorer.exception.InvalidRequestParameterException;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the index/top-K matcher against the original scan: score every meal with the string
+ * rule of {@link IngredientMatcher}, filter on the threshold, then sort.
+ */
+class MatcherServiceTest {
+
+    private static final List<List<String>> PANTRIES = List.of(
+            List.of("Chicken", "garlic", "Olive Oil"),
+            List.of("rice", "egg", "soy sauce", "spring onions"),
+            List.of("tomato", "basil"),
+            List.of("  BUTTER ", "flour", "sugar", "eggs", "milk"),
+            List.of("salt", "water"),
+            List.of("lamb"));
+
+    private final IngredientMatcher ingredientMatcher = new IngredientMatcher();
+    private MatcherService matcherService;
+    private List<Meal> meals;
+
+    @BeforeEach
+    void setUp() {
+        meals = List.of(
+                meal("1", "Garlic Chicken", "Chicken Breast", "Garlic", "Olive Oil", "Salt"),
+                meal("2", "Egg Fried Rice", "Rice", "Eggs", "Soy Sauce", "Spring Onions", "Vegetable Oil"),
+                meal("3", "Tomato Soup", "Tomatoes", "Onion", "Garlic", "Basil", "Salt", "Water"),
+                meal("4", "Pancakes", "Flour", "Eggs", "Milk", "Butter", "Sugar", "Salt"),
+                meal("5", "Shortbread", "Butter", "Caster Sugar", "Plain Flour"),
+                meal("6", "Lamb Tagine", "Lamb Shoulder", "Onion", "Garlic", "Cumin", "Apricots", "Water"),
+                meal("7", "Chicken Rice", "Chicken Thighs", "Rice", "Garlic", "Ginger", "Salt", "Salt"),
+                meal("8", "Bruschetta", "Bread", "Tomato", "Basil", "Olive Oil", "Garlic"),
+                meal("9", "Plain Water", "Water"));
+
+        // Fuzzy matching is a later addition on top of the string rule, so it is off for the comparison
+        IngredientDictionary dictionary = new IngredientDictionary(1.0, 0);
+        Catalog catalog = new Catalog(1, Instant.EPOCH, meals, List.of(), dictionary);
+        CatalogService catalogService = mock(CatalogService.class);
+        when(catalogService.getCatalog()).thenReturn(catalog);
+
+        matcherService = new MatcherService(catalogService, ingredientMatcher, dictionary,
+                100, 500, 10000, 1000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findMatchingMealsReturnsTheSameResultsAsAFullScan() {
+        for (List<String> pantry : PANTRIES) {
+            assertThat(matcherService.findMatchingMeals(pantry))
+                    .as("pantry %s", pantry)
+                    .isEqualTo(fullScan(pantry, 30.0));
+        }
+    }
+
+    @Test
+    void customThresholdsMatchAFullScan() {
+        for (List<String> pantry : PANTRIES) {
+            for (double threshold : new double[]{0.0, 16.67, 50.0, 100.0}) {
+                assertThat(matcherService.findMatchingMealsWithCustomThreshold(pantry, threshold))
+                        .as("pantry %s at %s%%", pantry, threshold)
+                        .isEqualTo(fullScan(pantry, threshold));
+            }
+        }
+    }
+
+    @Test
+    void pagesAreSlicesOfTheFullRanking() {
+        for (List<String> pantry : PANTRIES) {
+            List<MatchResult> expected = fullScan(pantry, 0.0);
+            for (int offset = 0; offset <= expected.size(); offset++) {
+                List<MatchResult> page = matcherService.findMatchingMeals(pantry, 0.0, offset, 2);
+                assertThat(page)
+                        .as("pantry %s, offset %d", pantry, offset)
+                        .isEqualTo(expected.subList(offset, Math.min(offset + 2, expected.size())));
+            }
+        }
+    }
+
+    @Test
+    void streamingReturnsTheSamePage() {
+        List<String> pantry = PANTRIES.get(0);
+        assertThat(matcherService.streamMatchingMeals(pantry, 0.0, 1, 3).collect(Collectors.toList()))
+                .isEqualTo(matcherService.findMatchingMeals(pantry, 0.0, 1, 3));
+    }
+
+    @Test
+    void batchesMatchLikeSingleRequests() {
+        List<MatchQuery> queries = PANTRIES.stream()
+                .map(pantry -> MatchQuery.builder().ingredients(pantry).minMatchPercentage(0.0).limit(3).build())
+                .toList();
+
+        List<List<MatchResult>> results = matcherService.findMatchingMealsBatch(queries);
+
+        for (int i = 0; i < PANTRIES.size(); i++) {
+            assertThat(results.get(i)).isEqualTo(matcherService.findMatchingMeals(PANTRIES.get(i), 0.0, 0, 3));
+        }
+    }
+
+    @Test
+    void batchesOverTheResultCapAreRejected() {
+        // Two default-sized pages of 100 fit under the cap of 1000; ten full pages of 500 do not
+        MatchQuery small = MatchQuery.builder().ingredients(List.of("garlic")).build();
+        MatchQuery large = MatchQuery.builder().ingredients(List.of("garlic")).limit(500).build();
+        MatchQuery empty = MatchQuery.builder().ingredients(List.of()).limit(500).build();
+
+        assertThat(matcherService.findMatchingMealsBatch(List.of(small, small, empty, empty, empty))).hasSize(5);
+        assertThat(matcherService.findMatchingMealsBatch(List.of(large, large))).hasSize(2);
+        assertThatThrownBy(() -> matcherService.findMatchingMealsBatch(List.of(large, large, small)))
+                .isInstanceOf(InvalidRequestParameterException.class)
+                .hasMessageContaining("at most 1000 results");
+    }
+
+    @Test
+    void emptyPantryMatchesNothing() {
+        assertThat(matcherService.findMatchingMeals(List.of())).isEmpty();
+        assertThat(matcherService.findMatchingMeals(null)).isEmpty();
+    }
+
+    private List<MatchResult> fullScan(List<String> pantry, double threshold) {
+        List<MatchResult> matches = meals.stream()
+                .map(meal -> ingredientMatcher.calculateMatch(meal, pantry))
+                .filter(match -> match.getMatchPercentage() >= threshold)
+                .collect(Collectors.toList());
+        return ingredientMatcher.sortByMatchPercentage(matches);
+    }
+
+    private static Meal meal(String id, String name, String... ingredients) {
+        return Meal.builder()
+                .id(id)
+                .name(name)
+                .ingredients(Arrays.stream(ingredients)
+                        .map(ingredient -> Ingredient.builder().name(ingredient).measure("1").build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
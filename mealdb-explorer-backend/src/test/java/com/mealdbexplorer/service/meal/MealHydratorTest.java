@@ -0,0 +1,114 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.adapter.themealdb.UpstreamPriority;
+import com.mealdbexplorer.exception.ExternalApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MealHydratorTest {
+
+    // 200ms interactive and 2s background deadlines
+    private final MealHydrator hydrator = new MealHydrator(4, 200, 2, 2000, 50, 500);
+
+    @AfterEach
+    void tearDown() {
+        hydrator.shutdown();
+    }
+
+    @Test
+    void resultsKeepTheInputOrder() {
+        List<String> keys = List.of("30", "1", "20", "5");
+
+        List<String> results = hydrator.hydrate(keys, key -> {
+            sleep(Long.parseLong(key));
+            return "meal " + key;
+        });
+
+        assertThat(results).containsExactly("meal 30", "meal 1", "meal 20", "meal 5");
+    }
+
+    @Test
+    void oneFailureAmongManyLeavesOnlyThatKeyOut() {
+        List<String> results = hydrator.hydrate(List.of("1", "2", "3", "4", "5"), key -> switch (key) {
+            case "2" -> throw new ExternalApiException("Failed to fetch meal details");
+            case "4" -> null;
+            default -> "meal " + key;
+        });
+
+        assertThat(results).containsExactly("meal 1", "meal 3", "meal 5");
+    }
+
+    @Test
+    void lookupsMissingTheDeadlineAreLeftOutAndCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        List<String> results = hydrator.hydrate(List.of("fast", "slow", "fast again"), key -> {
+            if (key.equals("slow")) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "too late";
+            }
+            return key;
+        });
+
+        assertThat(results).containsExactly("fast", "fast again");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void everyLookupTimingOutYieldsAnEmptyResult() {
+        List<String> results = hydrator.hydrate(List.of("1", "2"), key -> {
+            sleep(1000);
+            return key;
+        });
+
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void backgroundBatchesRunOnTheirOwnPoolWithTheLongerDeadline() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<UpstreamPriority> priority = new AtomicReference<>();
+
+        // 400ms would miss the interactive deadline
+        List<String> results = UpstreamPriority.BACKGROUND.run(() -> hydrator.hydrate(List.of("52977"), key -> {
+            thread.set(Thread.currentThread().getName());
+            priority.set(UpstreamPriority.current());
+            sleep(400);
+            return key;
+        }));
+
+        assertThat(results).containsExactly("52977");
+        assertThat(thread.get()).startsWith("meal-hydration-background-");
+        assertThat(priority.get()).isEqualTo(UpstreamPriority.BACKGROUND);
+    }
+
+    @Test
+    void limiterWaitsMustFitInsideTheDeadlines() {
+        assertThatThrownBy(() -> new MealHydrator(4, 200, 2, 2000, 200, 500))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new MealHydrator(4, 200, 2, 2000, 50, 2000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.adapter.themealdb.TheMealDbAsyncClient;
+import com.mealdbexplorer.adapter.themealdb.TheMealDbClient;
+import com.mealdbexplorer.config.CacheReloaders;
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.exception.ExternalApiException;
+import com.mealdbexplorer.exception.ResourceNotFoundException;
+import com.mealdbexplorer.mapper.CategoryMapper;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MealServiceAsyncTest {
+
+    private static final Meal CORBA = Meal.builder().id("52977").name("Corba").ingredients(List.of()).build();
+
+    private final TheMealDbClient mealDbClient = mock(TheMealDbClient.class);
+    private final TheMealDbAsyncClient asyncClient = mock(TheMealDbAsyncClient.class);
+    private final CatalogService catalogService = mock(CatalogService.class);
+    private final MealStore mealStore = mock(MealStore.class);
+    private final RandomMealPool randomMealPool = mock(RandomMealPool.class);
+
+    private MealService mealService;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogService.getLoadedCatalog()).thenReturn(Optional.empty());
+        when(mealStore.getIfPresent(any())).thenReturn(List.of());
+        mealService = service(Optional.of(asyncClient));
+    }
+
+    @Test
+    void storedMealsCompleteWithoutCallingTheUpstream() {
+        when(mealStore.getIfPresent(List.of("52977"))).thenReturn(List.of(CORBA));
+
+        assertThat(mealService.getMealByIdAsync("52977")).isCompletedWithValue(CORBA);
+        verifyNoInteractions(asyncClient, mealDbClient);
+    }
+
+    @Test
+    void upstreamLookupsAreRememberedInTheStore() {
+        when(asyncClient.getMealById("52977")).thenReturn(CompletableFuture.completedFuture(List.of(CORBA)));
+
+        assertThat(mealService.getMealByIdAsync("52977")).isCompletedWithValue(CORBA);
+        verify(mealStore).remember(List.of(CORBA));
+        verify(mealDbClient, never()).getMealById(any());
+    }
+
+    @Test
+    void unknownIdsFailWithNotFound() {
+        when(asyncClient.getMealById("1")).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        assertThatThrownBy(() -> mealService.getMealByIdAsync("1").join())
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void upstreamFailuresArePassedOn() {
+        when(asyncClient.getMealById("52977"))
+                .thenReturn(CompletableFuture.failedFuture(new ExternalApiException("Failed to fetch meal details")));
+
+        assertThatThrownBy(() -> mealService.getMealByIdAsync("52977").join())
+                .hasCauseInstanceOf(ExternalApiException.class);
+    }
+
+    @Test
+    void withoutTheAsyncClientLookupsRunOnTheCallingThread() {
+        mealService = service(Optional.empty());
+        when(mealStore.get(any(), any())).thenReturn(CORBA);
+
+        assertThat(mealService.getMealByIdAsync("52977")).isCompletedWithValue(CORBA);
+    }
+
+    @Test
+    void searchIsAnsweredFromALoadedCatalog() {
+        Catalog catalog = new Catalog(1, Instant.EPOCH, List.of(CORBA), List.of(), new IngredientDictionary(0.5, 3));
+        when(catalogService.getLoadedCatalog()).thenReturn(Optional.of(catalog));
+
+        assertThat(mealService.searchMealsByNameAsync("cor")).isCompletedWithValue(List.of(CORBA));
+        verifyNoInteractions(asyncClient, mealDbClient);
+    }
+
+    @Test
+    void searchGoesToTheAsyncClientWithoutACatalog() {
+        when(asyncClient.searchMealsByName("corba")).thenReturn(CompletableFuture.completedFuture(List.of(CORBA)));
+
+        assertThat(mealService.searchMealsByNameAsync("corba")).isCompletedWithValue(List.of(CORBA));
+        verify(mealDbClient, never()).searchMealsByName(any());
+    }
+
+    @Test
+    void queriesWithoutAWordAreNotSentUpstream() {
+        for (String name : new String[]{"", "   ", "&", " - "}) {
+            assertThat(mealService.searchMealsByNameAsync(name)).isCompletedWithValue(List.of());
+            assertThat(mealService.searchMealsByName(name)).isEmpty();
+        }
+        verifyNoInteractions(asyncClient, mealDbClient);
+    }
+
+    @Test
+    void randomMealsComeFromThePrefetchedPoolFirst() {
+        when(randomMealPool.poll()).thenReturn(CORBA);
+
+        assertThat(mealService.getRandomMealAsync()).isCompletedWithValue(CORBA);
+        verifyNoInteractions(asyncClient);
+    }
+
+    private MealService service(Optional<TheMealDbAsyncClient> async) {
+        MealService service = new MealService(mealDbClient, mock(CategoryMapper.class), mock(MealHydrator.class),
+                catalogService, mealStore, new CacheReloaders(1, 1), mock(PopularityTracker.class), randomMealPool, async);
+        ReflectionTestUtils.setField(service, "maxSearchResults", 50);
+        return service;
+    }
+}
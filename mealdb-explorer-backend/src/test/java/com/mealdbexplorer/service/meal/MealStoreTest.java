@@ -0,0 +1,168 @@
+package com.mealdbexplorer.service.meal;
+
+import com.mealdbexplorer.config.CacheConfig;
+import com.mealdbexplorer.config.CacheProperties;
+import com.mealdbexplorer.config.CacheReloaders;
+import com.mealdbexplorer.domain.model.Catalog;
+import com.mealdbexplorer.domain.model.Meal;
+import com.mealdbexplorer.domain.model.logic.IngredientDictionary;
+import com.mealdbexplorer.exception.ResourceNotFoundException;
+import com.mealdbexplorer.service.catalog.CatalogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MealStoreTest {
+
+    private static final Meal CORBA = meal("52977", "Corba");
+    private static final Meal KUMPIR = meal("52978", "Kumpir");
+    private static final Meal BUREK = meal("53060", "Burek");
+
+    private final CatalogService catalogService = mock(CatalogService.class);
+    private final MealHydrator mealHydrator = new MealHydrator(4, 5000, 2, 5000, 100, 1000);
+    private final CacheReloaders cacheReloaders = new CacheReloaders(1, 1);
+    private final List<String> loaded = new ArrayList<>();
+    private CacheManager cacheManager;
+    private MealStore mealStore;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogService.getLoadedCatalog()).thenReturn(Optional.empty());
+        cacheManager = new CacheConfig().cacheManager(new CacheProperties(), cacheReloaders);
+        mealStore = new MealStore(catalogService, mealHydrator, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealHydrator.shutdown();
+        cacheReloaders.shutdown();
+    }
+
+    @Test
+    void mealsAreLoadedOnceAndThenServedFromTheMealCache() {
+        Function<String, Meal> loader = loader(CORBA);
+
+        assertThat(mealStore.get("52977", loader)).isSameAs(CORBA);
+        assertThat(mealStore.get("52977", loader)).isSameAs(CORBA);
+
+        assertThat(loaded).containsExactly("52977");
+        assertThat(mealStore.getIfPresent(List.of("52977", "52978"))).containsExactly(CORBA);
+    }
+
+    @Test
+    void catalogMealsAreNeverCopiedIntoTheMealCache() {
+        loadCatalog(CORBA);
+
+        String[] ids = mealStore.remember(List.of(CORBA, KUMPIR));
+
+        assertThat(ids).containsExactly("52977", "52978");
+        assertThat(mealCache().getIfPresent("52977")).isNull();
+        assertThat(mealCache().getIfPresent("52978")).isSameAs(KUMPIR);
+        assertThat(mealStore.get("52977", loader())).isSameAs(CORBA);
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    void listsHoldIdsAndResolveToTheSharedMealInstances() {
+        List<Meal> first = mealStore.list("mealsByCategory", "Side", () -> List.of(CORBA, KUMPIR), loader());
+
+        assertThat(first).containsExactly(CORBA, KUMPIR);
+        assertThat(cacheManager.getCache("mealsByCategory").get("Side", String[].class)).containsExactly("52977", "52978");
+
+        // A meal stored again replaces the one the list resolves to; there is one copy per id
+        Meal renamed = meal("52977", "Çorba");
+        mealStore.remember(List.of(renamed));
+        List<Meal> second = mealStore.list("mealsByCategory", "Side", () -> List.of(), loader());
+
+        assertThat(second).containsExactly(renamed, KUMPIR);
+        assertThat(second.get(0)).isSameAs(renamed);
+    }
+
+    @Test
+    void evictedMealsAreReloadedWhenAListIsRead() {
+        mealStore.list("mealsByCategory", "Side", () -> List.of(CORBA, KUMPIR, BUREK), loader());
+        mealCache().invalidate("52978");
+
+        List<Meal> meals = mealStore.list("mealsByCategory", "Side", () -> List.of(), loader(KUMPIR));
+
+        assertThat(meals).containsExactly(CORBA, KUMPIR, BUREK);
+        assertThat(loaded).containsExactly("52978");
+        assertThat(mealCache().getIfPresent("52978")).isSameAs(KUMPIR);
+    }
+
+    @Test
+    void mealsThatCanNoLongerBeLoadedAreLeftOutInOrder() {
+        mealStore.list("mealsByCategory", "Side", () -> List.of(CORBA, KUMPIR, BUREK), loader());
+        mealCache().invalidateAll();
+
+        List<Meal> meals = mealStore.list("mealsByCategory", "Side", () -> List.of(), loader(BUREK, CORBA));
+
+        assertThat(meals).containsExactly(CORBA, BUREK);
+        assertThat(loaded).containsExactlyInAnyOrder("52977", "52978", "53060");
+    }
+
+    @Test
+    void theMealCacheStaysWithinItsBudget() {
+        // A 2 KB share of a 20 KB budget holds a handful of meals, not the whole batch
+        CacheProperties properties = new CacheProperties();
+        properties.setHeapBudget(DataSize.ofKilobytes(20));
+        cacheManager = new CacheConfig().cacheManager(properties, cacheReloaders);
+        mealStore = new MealStore(catalogService, mealHydrator, cacheManager);
+        List<Meal> meals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            meals.add(meal(String.valueOf(i), "Meal " + i));
+        }
+
+        mealStore.remember(meals);
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = mealCache();
+        assertThat(cache.policy().eviction().orElseThrow().weightedSize().getAsLong()).isLessThanOrEqualTo(2048);
+        assertThat(mealStore.getIfPresent(meals.stream().map(Meal::getId).toList()))
+                .hasSize((int) cache.estimatedSize())
+                .hasSizeLessThan(200);
+    }
+
+    private void loadCatalog(Meal... meals) {
+        Catalog catalog = new Catalog(1, Instant.EPOCH, List.of(meals), List.of(), new IngredientDictionary(0.5, 3));
+        when(catalogService.getLoadedCatalog()).thenReturn(Optional.of(catalog));
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> mealCache() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                ((CaffeineCache) cacheManager.getCache("meal")).getNativeCache();
+        cache.cleanUp();
+        return cache;
+    }
+
+    // Loads the given meals by id and fails like MealService does for any other id
+    private Function<String, Meal> loader(Meal... meals) {
+        return id -> {
+            synchronized (loaded) {
+                loaded.add(id);
+            }
+            for (Meal meal : meals) {
+                if (meal.getId().equals(id)) {
+                    return meal;
+                }
+            }
+            throw new ResourceNotFoundException("Meal not found with id: " + id);
+        };
+    }
+
+    private static Meal meal(String id, String name) {
+        return Meal.builder().id(id).name(name).ingredients(List.of()).tags(List.of()).build();
+    }
+}